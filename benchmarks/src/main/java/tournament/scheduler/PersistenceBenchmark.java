@@ -0,0 +1,130 @@
+package tournament.scheduler;
+
+import org.openjdk.jmh.annotations.*;
+import tournament.scheduler.db.StorageProfile;
+import tournament.scheduler.masterdata.Country;
+import tournament.scheduler.masterdata.League;
+import tournament.scheduler.masterdata.MasterDataManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int SEED_TEAMS = 40;
+    private static final int SEED_COUNTRIES = 50;
+    private static final int LEAGUES_PER_COUNTRY = 8;
+    private static final int BATCH_SIZE = 100;
+
+    // Grows with every insert, so it gets its own database file
+    @State(Scope.Benchmark)
+    public static class WriteState {
+        @Param({"DURABLE", "FAST"})
+        StorageProfile profile;
+
+        Path dbFile;
+        DatabaseManager dbManager;
+        long counter;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dbFile = Files.createTempFile("bench-write", ".db");
+            System.setProperty(StorageProfile.PROPERTY, profile.name());
+            dbManager = new DatabaseManager("jdbc:sqlite:" + dbFile);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            dbManager.getConnectionProvider().close();
+            deleteDatabase(dbFile);
+        }
+    }
+
+    // Seeded once and only read afterwards
+    @State(Scope.Benchmark)
+    public static class ReadState {
+        @Param({"DURABLE", "FAST"})
+        StorageProfile profile;
+
+        Path dbFile;
+        DatabaseManager dbManager;
+        MasterDataManager dataManager;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dbFile = Files.createTempFile("bench-read", ".db");
+            String url = "jdbc:sqlite:" + dbFile;
+            System.setProperty(StorageProfile.PROPERTY, profile.name());
+            dbManager = new DatabaseManager(url);
+            dataManager = new MasterDataManager(url);
+
+            for (int i = 0; i < SEED_TEAMS; i++) {
+                dbManager.saveTeam(new Team("Team " + i));
+            }
+            for (int c = 0; c < SEED_COUNTRIES; c++) {
+                String isoCode = isoCode(c);
+                dataManager.saveCountry(new Country(isoCode, "Country " + c));
+                for (int l = 1; l <= LEAGUES_PER_COUNTRY; l++) {
+                    dataManager.saveLeague(new League(isoCode, "League " + l, l));
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            dbManager.getConnectionProvider().close();
+            deleteDatabase(dbFile);
+        }
+    }
+
+    // WAL mode leaves -wal and -shm files next to the database
+    private static void deleteDatabase(Path dbFile) throws IOException {
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    private static String isoCode(int index) {
+        return "" + (char) ('A' + index / 26) + (char) ('A' + index % 26);
+    }
+
+    @Benchmark
+    public Team saveTeam(WriteState state) {
+        Team team = new Team("Team " + state.counter++);
+        state.dbManager.saveTeam(team);
+        return team;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int saveTeams(WriteState state) {
+        List<Team> teams = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            teams.add(new Team("Team " + state.counter++));
+        }
+        return state.dbManager.saveTeams(teams).getInsertedCount();
+    }
+
+    @Benchmark
+    public List<Team> getAllTeams(ReadState state) {
+        return state.dbManager.getAllTeams();
+    }
+
+    @Benchmark
+    public List<League> getAllLeagues(ReadState state) {
+        return state.dataManager.getAllLeagues();
+    }
+
+    @Benchmark
+    public boolean isLeagueExists(ReadState state) {
+        return state.dataManager.isLeagueExists(isoCode(SEED_COUNTRIES / 2), "League 3");
+    }
+}
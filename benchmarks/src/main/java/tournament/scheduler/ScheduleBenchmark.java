@@ -0,0 +1,99 @@
+package tournament.scheduler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tournament.scheduler.calendar.CalendarAssigner;
+import tournament.scheduler.calendar.CalendarRules;
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinEngine;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleOptimizer;
+import tournament.scheduler.engine.SchedulePatternCache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleBenchmark {
+    // Fixed iteration count on one worker, so the score reflects the cost of the moves
+    private static final ScheduleOptimizer.Options OPTIMIZE_OPTIONS =
+        new ScheduleOptimizer.Options(1, 1, 10_000, Duration.ofMinutes(1), 1000, 1);
+    private static final CalendarRules CALENDAR_RULES = CalendarRules.weekends(LocalDate.of(2026, 8, 1),
+        List.of(LocalTime.of(13, 0), LocalTime.of(15, 30), LocalTime.of(18, 0)), Set.of(LocalDate.of(2026, 12, 26)));
+
+    @Param({"8", "20", "40", "1000"})
+    private int teamCount;
+
+    private String[] teamNames;
+    private List<TournamentSchedulerGUI.Match> schedule;
+    private RoundRobinSchedule pattern;
+    private int[] home;
+    private int[] away;
+    // Two teams per stadium, so slots are contended
+    private int[] homeVenues;
+    private final SchedulePatternCache patternCache = new SchedulePatternCache(4);
+
+    @Setup
+    public void setUp() {
+        teamNames = new String[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            teamNames[i] = "Team " + (i + 1);
+        }
+        schedule = TournamentSchedulerGUI.generateSchedule(teamNames);
+        pattern = RoundRobinEngine.doubleRoundRobin(teamCount);
+        home = new int[RoundRobinEngine.matchCount(teamCount, 2)];
+        away = new int[home.length];
+        homeVenues = new int[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            homeVenues[i] = i / 2;
+        }
+        patternCache.get(teamCount, 2);
+    }
+
+    @Benchmark
+    public RoundRobinSchedule enginePattern() {
+        return RoundRobinEngine.doubleRoundRobin(teamCount);
+    }
+
+    // Compare with enginePattern
+    @Benchmark
+    public RoundRobinSchedule cachedPattern() {
+        return patternCache.get(teamCount, 2);
+    }
+
+    @Benchmark
+    public void engineIntoBuffers(Blackhole bh) {
+        bh.consume(RoundRobinEngine.generate(teamCount, 2, home, away, 0));
+        bh.consume(home);
+        bh.consume(away);
+    }
+
+    @Benchmark
+    public List<TournamentSchedulerGUI.Match> generateSchedule() {
+        return TournamentSchedulerGUI.generateSchedule(teamNames);
+    }
+
+    @Benchmark
+    public String formatSchedule() {
+        return TournamentSchedulerGUI.formatSchedule(schedule);
+    }
+
+    @Benchmark
+    public ScheduleOptimizer.Result optimize() {
+        return ScheduleOptimizer.optimize(pattern, OPTIMIZE_OPTIONS);
+    }
+
+    @Benchmark
+    public ScheduleCalendar assignCalendar() {
+        return new CalendarAssigner(CALENDAR_RULES, (teamCount + 1) / 2).assign(pattern, homeVenues);
+    }
+}
\ No newline at end of file
@@ -1,47 +1,82 @@
 package tournament.scheduler;
 
+import tournament.scheduler.db.BatchInserter;
+import tournament.scheduler.db.BatchResult;
+import tournament.scheduler.db.ConnectionProvider;
+import tournament.scheduler.db.PooledConnection;
+import tournament.scheduler.db.SchemaMigrator;
+import tournament.scheduler.db.WritePipeline;
+import tournament.scheduler.engine.RoundRobinEngine;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleRepair;
+import tournament.scheduler.standings.MatchResult;
+
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:tournament.db";
-    
-    static {
-        try {
-            // Register JDBC driver
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            System.err.println("Error loading SQLite JDBC driver: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
-    }
+    private static final String DB_URL = ConnectionProvider.DEFAULT_URL;
+    // Match rows sent to SQLite per executeBatch call
+    private static final int MATCH_BATCH_SIZE = 500;
+    // Values of matches.status besides the default SCHEDULED
+    private static final String STATUS_POSTPONED = Fixture.Status.POSTPONED.name();
+    private static final String STATUS_CANCELLED = Fixture.Status.CANCELLED.name();
+    private static final String FIXTURE_COLUMNS =
+        "COALESCE(m.played_round, m.round) AS round, m.home_index, m.away_index, " +
+        "h.name AS home_name, a.name AS away_name, m.status ";
+    private static final String FIXTURE_JOINS =
+        "JOIN season_teams h ON h.season_id = m.season_id AND h.team_index = m.home_index " +
+        "JOIN season_teams a ON a.season_id = m.season_id AND a.team_index = m.away_index ";
+    
+    private final ConnectionProvider connections;
+    private final WritePipeline writes;
     
     public DatabaseManager() {
-        initializeDatabase();
+        this(DB_URL);
     }
     
-    private void initializeDatabase() {
-        String createTableSQL = 
-            "CREATE TABLE IF NOT EXISTS teams (" +
-            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "name TEXT NOT NULL UNIQUE" +
-            ")";
-            
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(createTableSQL);
-        } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
+    public DatabaseManager(String dbUrl) {
+        this.connections = ConnectionProvider.forUrl(dbUrl);
+        SchemaMigrator.migrate(connections);
+        this.writes = connections.writes();
+    }
+    
+    public ConnectionProvider getConnectionProvider() {
+        return connections;
+    }
+    
+    /**
+     * Queues a mutation on the database's single writer. SQL errors are
+     * logged and surface as a RuntimeException, as for the synchronous calls.
+     */
+    private <T> CompletableFuture<T> write(String action, WritePipeline.Write<T> write) {
+        return writes.submit(write).handle((result, error) -> {
+            if (error == null) {
+                return result;
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            System.err.println("Error " + action + ": " + cause.getMessage());
+            throw new RuntimeException(cause);
+        });
     }
     
     public void saveTeam(Team team) {
+        WritePipeline.await(saveTeamAsync(team));
+    }
+    
+    public CompletableFuture<Void> saveTeamAsync(Team team) {
         String sql = "INSERT INTO teams (name) VALUES (?)";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return write("saving team", conn -> {
+            PreparedStatement pstmt = conn.prepareReturningKeys(sql);
             
             pstmt.setString(1, team.getName());
             pstmt.executeUpdate();
@@ -52,19 +87,29 @@ public class DatabaseManager {
                     team.setId(rs.getInt(1));
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("Error saving team: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
+            return null;
+        });
+    }
+    
+    // Inserts all teams in one transaction; duplicate names are reported, not thrown
+    public BatchResult<Team> saveTeams(Collection<Team> teams) {
+        return WritePipeline.await(saveTeamsAsync(teams));
+    }
+    
+    public CompletableFuture<BatchResult<Team>> saveTeamsAsync(Collection<Team> teams) {
+        String sql = "INSERT INTO teams (name) VALUES (?)";
+        
+        return write("saving teams", conn -> BatchInserter.insertAll(conn, sql, teams,
+            (pstmt, team) -> pstmt.setString(1, team.getName()),
+            Team::setId));
     }
     
     public List<Team> getAllTeams() {
         List<Team> teams = new ArrayList<>();
         String sql = "SELECT id, name FROM teams";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = connections.acquire();
+             ResultSet rs = conn.prepare(sql).executeQuery()) {
             
             while (rs.next()) {
                 teams.add(new Team(
@@ -81,14 +126,434 @@ public class DatabaseManager {
     }
     
     public void deleteAllTeams() {
+        WritePipeline.await(deleteAllTeamsAsync());
+    }
+    
+    public CompletableFuture<Integer> deleteAllTeamsAsync() {
         String sql = "DELETE FROM teams";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
+        return write("deleting teams", conn -> conn.prepare(sql).executeUpdate());
+    }
+    
+    /**
+     * Stores a season, its teams and every match in one transaction. Teams
+     * are referenced by their index in {@code teamNames}, as in the schedule;
+     * {@code leagueId} is -1 for seasons outside the league master data.
+     * Returns the new season id.
+     */
+    public int saveSeason(String name, int leagueId, List<String> teamNames, RoundRobinSchedule schedule) {
+        return saveSeasons(List.of(new SeasonDraft(name, leagueId, teamNames, schedule)))[0];
+    }
+    
+    // Stores several seasons in a single transaction; ids are returned in draft order
+    public int[] saveSeasons(List<SeasonDraft> drafts) {
+        return WritePipeline.await(saveSeasonsAsync(drafts));
+    }
+    
+    public CompletableFuture<int[]> saveSeasonsAsync(List<SeasonDraft> drafts) {
+        for (SeasonDraft draft : drafts) {
+            if (draft.teamNames().size() != draft.schedule().getTeamCount()) {
+                throw new IllegalArgumentException("Expected " + draft.schedule().getTeamCount()
+                    + " team names for " + draft.name() + ", got " + draft.teamNames().size());
+            }
+        }
+        
+        return write("saving seasons", conn -> {
+            int[] ids = new int[drafts.size()];
+            PreparedStatement teamStmt = conn.prepare(
+                "INSERT INTO season_teams (season_id, team_index, name) VALUES (?, ?, ?)");
+            PreparedStatement matchStmt = conn.prepare(
+                "INSERT INTO matches (season_id, round, match_no, home_index, away_index) VALUES (?, ?, ?, ?, ?)");
+            try {
+                int pendingMatches = 0;
+                for (int d = 0; d < drafts.size(); d++) {
+                    SeasonDraft draft = drafts.get(d);
+                    RoundRobinSchedule schedule = draft.schedule();
+                    int seasonId = insertSeason(conn, draft.name(), draft.leagueId(), schedule);
+                    ids[d] = seasonId;
+                    
+                    List<String> teamNames = draft.teamNames();
+                    for (int i = 0; i < teamNames.size(); i++) {
+                        teamStmt.setInt(1, seasonId);
+                        teamStmt.setInt(2, i);
+                        teamStmt.setString(3, teamNames.get(i));
+                        teamStmt.addBatch();
+                    }
+                    teamStmt.executeBatch();
+                    
+                    int matchesPerRound = schedule.getMatchesPerRound();
+                    for (int m = 0; m < schedule.getMatchCount(); m++) {
+                        matchStmt.setInt(1, seasonId);
+                        matchStmt.setInt(2, schedule.round(m));
+                        matchStmt.setInt(3, m % matchesPerRound);
+                        matchStmt.setInt(4, schedule.home(m));
+                        matchStmt.setInt(5, schedule.away(m));
+                        matchStmt.addBatch();
+                        if (++pendingMatches == MATCH_BATCH_SIZE) {
+                            matchStmt.executeBatch();
+                            pendingMatches = 0;
+                        }
+                    }
+                }
+                matchStmt.executeBatch();
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                // The statements stay cached, so drop rows queued before the failure
+                teamStmt.clearBatch();
+                matchStmt.clearBatch();
+                throw e;
+            }
+        });
+    }
+    
+    private int insertSeason(PooledConnection conn, String name, int leagueId, RoundRobinSchedule schedule) throws SQLException {
+        PreparedStatement pstmt = conn.prepareReturningKeys(
+            "INSERT INTO seasons (name, league_id, team_count, legs) VALUES (?, ?, ?, ?)");
+        pstmt.setString(1, name);
+        if (leagueId > 0) {
+            pstmt.setInt(2, leagueId);
+        } else {
+            pstmt.setNull(2, Types.INTEGER);
+        }
+        pstmt.setInt(3, schedule.getTeamCount());
+        pstmt.setInt(4, schedule.getLegs());
+        pstmt.executeUpdate();
+        
+        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+            if (!rs.next()) {
+                throw new SQLException("No id generated for season " + name);
+            }
+            return rs.getInt(1);
+        }
+    }
+    
+    // Season header and team names only; matches are loaded by round or team
+    public Season getSeason(int seasonId) {
+        String sql = "SELECT id, name, league_id, legs, created_at FROM seasons WHERE id = ?";
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, seasonId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readSeason(conn, rs) : null;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving season: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    // Most recent season that does not belong to a league, or null
+    public Season getLatestSeason() {
+        String sql = "SELECT id, name, league_id, legs, created_at FROM seasons WHERE league_id IS NULL ORDER BY id DESC LIMIT 1";
+        
+        try (PooledConnection conn = connections.acquire();
+             ResultSet rs = conn.prepare(sql).executeQuery()) {
+            return rs.next() ? readSeason(conn, rs) : null;
         } catch (SQLException e) {
-            System.err.println("Error deleting teams: " + e.getMessage());
+            System.err.println("Error retrieving season: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
-} 
\ No newline at end of file
+    
+    private Season readSeason(PooledConnection conn, ResultSet rs) throws SQLException {
+        int seasonId = rs.getInt("id");
+        int leagueId = rs.getInt("league_id");
+        if (rs.wasNull()) {
+            leagueId = -1;
+        }
+        // created_at is stored as 'YYYY-MM-DD HH:MM:SS'
+        LocalDate createdAt = LocalDate.parse(rs.getString("created_at").substring(0, 10));
+        Season season = new Season(seasonId, rs.getString("name"), leagueId, rs.getInt("legs"), new ArrayList<>(), createdAt);
+        
+        PreparedStatement pstmt = conn.prepare(
+            "SELECT name FROM season_teams WHERE season_id = ? ORDER BY team_index");
+        pstmt.setInt(1, seasonId);
+        try (ResultSet teams = pstmt.executeQuery()) {
+            while (teams.next()) {
+                season.getTeamNames().add(teams.getString("name"));
+            }
+        }
+        return season;
+    }
+    
+    /**
+     * Fixtures played in a round: its own matches, flagged if cancelled, then
+     * the ones postponed into it. A postponed match is listed in the round it
+     * moved to. Postponements can come from any round, so this reads the
+     * season's rows by the primary key prefix rather than a single round.
+     */
+    public List<Fixture> getRound(int seasonId, int round) {
+        String sql = "SELECT " + FIXTURE_COLUMNS + "FROM matches m " + FIXTURE_JOINS +
+                     "WHERE m.season_id = ? AND (m.round = ? AND m.played_round IS NULL OR m.played_round = ?) " +
+                     "ORDER BY m.played_round IS NOT NULL, m.round, m.match_no";
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, seasonId);
+            pstmt.setInt(2, round);
+            pstmt.setInt(3, round);
+            return readFixtures(pstmt);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving round: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    // Home and away games come from separate indexes and are merged by the round they are played in
+    public List<Fixture> getTeamFixtures(int seasonId, int teamIndex) {
+        String sql = "SELECT " + FIXTURE_COLUMNS + "FROM matches m " + FIXTURE_JOINS +
+                     "WHERE m.season_id = ? AND m.home_index = ? " +
+                     "UNION ALL " +
+                     "SELECT " + FIXTURE_COLUMNS + "FROM matches m " + FIXTURE_JOINS +
+                     "WHERE m.season_id = ? AND m.away_index = ? " +
+                     "ORDER BY 1";
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, seasonId);
+            pstmt.setInt(2, teamIndex);
+            pstmt.setInt(3, seasonId);
+            pstmt.setInt(4, teamIndex);
+            return readFixtures(pstmt);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving team fixtures: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private List<Fixture> readFixtures(PreparedStatement pstmt) throws SQLException {
+        List<Fixture> fixtures = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                fixtures.add(new Fixture(
+                    rs.getInt("round"),
+                    rs.getInt("home_index"),
+                    rs.getInt("away_index"),
+                    rs.getString("home_name"),
+                    rs.getString("away_name"),
+                    Fixture.Status.valueOf(rs.getString("status"))
+                ));
+            }
+        }
+        return fixtures;
+    }
+    
+    // Whole season as index arrays, read in primary key order
+    public RoundRobinSchedule loadSchedule(Season season) {
+        int teamCount = season.getTeamCount();
+        int matchCount = RoundRobinEngine.matchCount(teamCount, season.getLegs());
+        int[] home = new int[matchCount];
+        int[] away = new int[matchCount];
+        int count = 0;
+        String sql = "SELECT home_index, away_index FROM matches WHERE season_id = ? ORDER BY round, match_no";
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, season.getId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    // Keep counting past the expected size so extra rows are reported too
+                    if (count < matchCount) {
+                        home[count] = rs.getInt(1);
+                        away[count] = rs.getInt(2);
+                    }
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading schedule: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+        
+        if (count != matchCount) {
+            throw new IllegalStateException("Season " + season.getId() + " has " + count
+                + " stored matches, expected " + matchCount);
+        }
+        return RoundRobinSchedule.of(teamCount, season.getLegs(),
+            RoundRobinEngine.matchesPerRound(teamCount), home, away);
+    }
+    
+    /**
+     * Round each match of a season is played in, indexed like the schedule:
+     * the round of its slot, the later round it was postponed to, or
+     * {@link ScheduleRepair#CANCELLED_ROUND}. Pass it to
+     * {@link ScheduleRepair#repair(RoundRobinSchedule, int[], ScheduleRepair.Disruption)}.
+     */
+    public int[] loadMatchRounds(Season season) {
+        int matchCount = RoundRobinEngine.matchCount(season.getTeamCount(), season.getLegs());
+        int[] rounds = new int[matchCount];
+        int count = 0;
+        String sql = "SELECT round, status, played_round FROM matches WHERE season_id = ? ORDER BY round, match_no";
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, season.getId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count < matchCount) {
+                        String status = rs.getString(2);
+                        int playedRound = rs.getInt(3);
+                        rounds[count] = STATUS_CANCELLED.equals(status) ? ScheduleRepair.CANCELLED_ROUND
+                            : rs.wasNull() ? rs.getInt(1) : playedRound;
+                    }
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading match rounds: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+        
+        if (count != matchCount) {
+            throw new IllegalStateException("Season " + season.getId() + " has " + count
+                + " stored matches, expected " + matchCount);
+        }
+        return rounds;
+    }
+    
+    /**
+     * Stores a repair of a saved season in one transaction. A moved match is
+     * marked POSTPONED with the round it is now played in, a cancelled one
+     * CANCELLED, and a home/away swap rewrites the teams. Matches that already
+     * have a result are never changed: the whole repair is rejected with an
+     * IllegalStateException instead.
+     */
+    public void applyRepair(int seasonId, ScheduleRepair.Result repair) {
+        WritePipeline.await(applyRepairAsync(seasonId, repair));
+    }
+    
+    public CompletableFuture<Void> applyRepairAsync(int seasonId, ScheduleRepair.Result repair) {
+        RoundRobinSchedule schedule = repair.schedule();
+        String unplayed = " WHERE season_id = ? AND round = ? AND match_no = ? AND home_goals IS NULL";
+        String moveSql = "UPDATE matches SET status = '" + STATUS_POSTPONED + "', played_round = ?" + unplayed;
+        String cancelSql = "UPDATE matches SET status = '" + STATUS_CANCELLED + "', played_round = NULL" + unplayed;
+        String swapSql = "UPDATE matches SET home_index = ?, away_index = ?" + unplayed;
+        
+        return write("applying repair", conn -> {
+            for (ScheduleRepair.MatchChange change : repair.changes()) {
+                PreparedStatement pstmt;
+                int index = 1;
+                switch (change.kind()) {
+                    case MOVED -> {
+                        pstmt = conn.prepare(moveSql);
+                        pstmt.setInt(index++, change.round());
+                    }
+                    case CANCELLED -> pstmt = conn.prepare(cancelSql);
+                    case HOME_AWAY_SWAPPED -> {
+                        pstmt = conn.prepare(swapSql);
+                        pstmt.setInt(index++, change.home());
+                        pstmt.setInt(index++, change.away());
+                    }
+                    default -> throw new IllegalArgumentException("Unknown change " + change.kind());
+                }
+                // Rows are keyed by the slot of the match, not the round it is played in
+                int round = schedule.round(change.match());
+                int matchNo = change.match() - schedule.firstMatchOfRound(round);
+                pstmt.setInt(index++, seasonId);
+                pstmt.setInt(index++, round);
+                pstmt.setInt(index, matchNo);
+                if (pstmt.executeUpdate() != 1) {
+                    throw new IllegalStateException("Match " + matchNo + " of round " + round + " in season "
+                        + seasonId + " is already played or does not exist");
+                }
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Stores played results of a season in one transaction, replacing earlier
+     * scores of the same matches. A result is matched by round, home and away
+     * team, and cancelled matches take none; returns how many matches were
+     * updated.
+     */
+    public int saveResults(int seasonId, Collection<MatchResult> results) {
+        return WritePipeline.await(saveResultsAsync(seasonId, results));
+    }
+    
+    public CompletableFuture<Integer> saveResultsAsync(int seasonId, Collection<MatchResult> results) {
+        String sql = "UPDATE matches SET home_goals = ?, away_goals = ? " +
+                     "WHERE season_id = ? AND home_index = ? AND round = ? AND away_index = ? " +
+                     "AND status <> '" + STATUS_CANCELLED + "'";
+        
+        return write("saving results", conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
+            try {
+                for (MatchResult result : results) {
+                    pstmt.setInt(1, result.homeGoals());
+                    pstmt.setInt(2, result.awayGoals());
+                    pstmt.setInt(3, seasonId);
+                    pstmt.setInt(4, result.home());
+                    pstmt.setInt(5, result.round());
+                    pstmt.setInt(6, result.away());
+                    pstmt.addBatch();
+                }
+                int updated = 0;
+                for (int count : pstmt.executeBatch()) {
+                    updated += Math.max(count, 0);
+                }
+                return updated;
+            } catch (SQLException | RuntimeException e) {
+                pstmt.clearBatch();
+                throw e;
+            }
+        });
+    }
+    
+    // Played matches of a season in schedule order
+    public List<MatchResult> getResults(int seasonId) {
+        String sql = "SELECT round, home_index, away_index, home_goals, away_goals FROM matches " +
+                     "WHERE season_id = ? AND home_goals IS NOT NULL AND status <> '" + STATUS_CANCELLED + "' " +
+                     "ORDER BY round, match_no";
+        List<MatchResult> results = new ArrayList<>();
+        
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, seasonId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new MatchResult(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+                }
+            }
+            return results;
+        } catch (SQLException e) {
+            System.err.println("Error retrieving results: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    // Most recent season of every league, with team names
+    public List<Season> getLatestLeagueSeasons() {
+        String sql = "SELECT id, name, league_id, legs, created_at FROM seasons " +
+                     "WHERE id IN (SELECT MAX(id) FROM seasons WHERE league_id IS NOT NULL GROUP BY league_id)";
+        List<Season> seasons = new ArrayList<>();
+        
+        try (PooledConnection conn = connections.acquire()) {
+            try (ResultSet rs = conn.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    seasons.add(readSeason(conn, rs));
+                }
+            }
+            return seasons;
+        } catch (SQLException e) {
+            System.err.println("Error retrieving seasons: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    public void deleteSeason(int seasonId) {
+        WritePipeline.await(deleteSeasonAsync(seasonId));
+    }
+    
+    public CompletableFuture<Void> deleteSeasonAsync(int seasonId) {
+        String sql = "DELETE FROM seasons WHERE id = ?";
+        
+        return write("deleting season", conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
+            pstmt.setInt(1, seasonId);
+            pstmt.executeUpdate();
+            return null;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package tournament.scheduler;
+
+import java.util.Locale;
+
+public class Fixture {
+    // Stored in matches.status
+    public enum Status {
+        SCHEDULED,
+        POSTPONED,
+        CANCELLED
+    }
+
+    private final int round;
+    private final int homeIndex;
+    private final int awayIndex;
+    private final String homeTeam;
+    private final String awayTeam;
+    private final Status status;
+
+    public Fixture(int round, int homeIndex, int awayIndex, String homeTeam, String awayTeam) {
+        this(round, homeIndex, awayIndex, homeTeam, awayTeam, Status.SCHEDULED);
+    }
+
+    // A postponed fixture carries the round it is now played in
+    public Fixture(int round, int homeIndex, int awayIndex, String homeTeam, String awayTeam, Status status) {
+        this.round = round;
+        this.homeIndex = homeIndex;
+        this.awayIndex = awayIndex;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.status = status;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getHomeIndex() {
+        return homeIndex;
+    }
+
+    public int getAwayIndex() {
+        return awayIndex;
+    }
+
+    public String getHomeTeam() {
+        return homeTeam;
+    }
+
+    public String getAwayTeam() {
+        return awayTeam;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        String text = String.format("Round %d: %s vs %s", round, homeTeam, awayTeam);
+        return status == Status.SCHEDULED ? text : text + " (" + status.name().toLowerCase(Locale.ROOT) + ")";
+    }
+}
\ No newline at end of file
@@ -9,6 +9,9 @@ import javafx.scene.control.MenuItem;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import tournament.scheduler.db.AsyncDataAccess;
+import tournament.scheduler.db.ConnectionProvider;
+import tournament.scheduler.db.SchemaMigrator;
 import tournament.scheduler.masterdata.CountryManagerGUI;
 import tournament.scheduler.masterdata.LeagueManagerGUI;
 
@@ -18,6 +21,11 @@ public class MainApplication extends Application {
     @Override
     public void start(Stage primaryStage) {
         this.mainStage = primaryStage;
+        
+        // Bring the database schema up to date once for the whole session,
+        // off the FX thread; windows opened meanwhile wait for it in the background
+        AsyncDataAccess.run(() -> SchemaMigrator.migrate(ConnectionProvider.forUrl(ConnectionProvider.DEFAULT_URL)));
+        
         primaryStage.setTitle("Tournament Scheduler");
         
         // Create menu bar
@@ -79,6 +87,12 @@ public class MainApplication extends Application {
         }
     }
     
+    @Override
+    public void stop() {
+        // Close pooled database connections
+        ConnectionProvider.closeAll();
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
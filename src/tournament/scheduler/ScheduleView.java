@@ -0,0 +1,207 @@
+package tournament.scheduler;
+
+import javafx.collections.FXCollections;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+/**
+ * Virtualized schedule display: a {@link ListView} whose rows are round
+ * headers and matches, grouped by round. Rounds can be collapsed and the
+ * matches filtered by team name. The row list is a plain {@code int[]} of
+ * row codes, and cell text is only built for the rows currently on screen,
+ * so the cost of showing a season is independent of its size.
+ */
+public final class ScheduleView extends VBox {
+    private static final DateTimeFormatter ROUND_DATE = DateTimeFormatter.ofPattern("EEE d MMM yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter KICKOFF = DateTimeFormatter.ofPattern("EEE HH:mm", Locale.ENGLISH);
+
+    private final RoundRobinSchedule schedule;
+    // Dates and kickoff times, or null to show rounds only
+    private final ScheduleCalendar calendar;
+    private final String[] teamNames;
+    private final String[] lowerCaseNames;
+    private final boolean[] collapsed;
+    private final boolean[] teamVisible;
+    private final ListView<Integer> listView = new ListView<>();
+    private final Label summaryLabel = new Label();
+
+    public ScheduleView(RoundRobinSchedule schedule, String[] teamNames) {
+        this(schedule, teamNames, null);
+    }
+
+    public ScheduleView(RoundRobinSchedule schedule, String[] teamNames, ScheduleCalendar calendar) {
+        super(5);
+        this.schedule = schedule;
+        this.calendar = calendar;
+        this.teamNames = teamNames;
+        this.collapsed = new boolean[schedule.getRoundCount() + 1];
+        this.teamVisible = new boolean[teamNames.length];
+        this.lowerCaseNames = new String[teamNames.length];
+        for (int i = 0; i < teamNames.length; i++) {
+            lowerCaseNames[i] = teamNames[i].toLowerCase(Locale.ROOT);
+        }
+
+        // Toolbar: team filter and expand/collapse all
+        TextField filterField = new TextField();
+        filterField.setPromptText("Filter by team");
+        filterField.textProperty().addListener((obs, oldText, newText) -> applyFilter(newText));
+        Button expandAllButton = new Button("Expand All");
+        expandAllButton.setOnAction(e -> setAllCollapsed(false));
+        Button collapseAllButton = new Button("Collapse All");
+        collapseAllButton.setOnAction(e -> setAllCollapsed(true));
+        HBox toolbar = new HBox(5, filterField, expandAllButton, collapseAllButton);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(filterField, Priority.ALWAYS);
+
+        listView.setCellFactory(lv -> new RowCell());
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        getChildren().addAll(toolbar, listView, summaryLabel);
+        applyFilter("");
+    }
+
+    private void applyFilter(String text) {
+        String filter = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < teamNames.length; i++) {
+            teamVisible[i] = filter.isEmpty() || lowerCaseNames[i].contains(filter);
+        }
+        rebuildRows();
+    }
+
+    private void setAllCollapsed(boolean value) {
+        Arrays.fill(collapsed, value);
+        rebuildRows();
+    }
+
+    private void toggleRound(int round) {
+        collapsed[round] = !collapsed[round];
+        rebuildRows();
+    }
+
+    private boolean isVisible(int match) {
+        return teamVisible[schedule.home(match)] || teamVisible[schedule.away(match)];
+    }
+
+    // Row codes: -round for a round header, match index for a match
+    private void rebuildRows() {
+        int rounds = schedule.getRoundCount();
+        int perRound = schedule.getMatchesPerRound();
+        int[] rows = new int[rounds + schedule.getMatchCount()];
+        int size = 0;
+        int shownMatches = 0;
+        for (int round = 1; round <= rounds; round++) {
+            int first = schedule.firstMatchOfRound(round);
+            int headerRow = size;
+            rows[size++] = -round;
+            int visibleInRound = 0;
+            for (int m = first; m < first + perRound; m++) {
+                if (isVisible(m)) {
+                    visibleInRound++;
+                    if (!collapsed[round]) {
+                        rows[size++] = m;
+                    }
+                }
+            }
+            if (visibleInRound == 0) {
+                size = headerRow; // hide rounds without matching fixtures
+            }
+            shownMatches += visibleInRound;
+        }
+        listView.setItems(FXCollections.observableList(new IntRowList(rows, size)));
+        summaryLabel.setText(shownMatches + " of " + schedule.getMatchCount() + " matches in "
+            + rounds + " rounds");
+    }
+
+    private String headerText(int round) {
+        int first = schedule.firstMatchOfRound(round);
+        int visible = 0;
+        for (int m = first; m < first + schedule.getMatchesPerRound(); m++) {
+            if (isVisible(m)) {
+                visible++;
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(collapsed[round] ? "▶ " : "▼ ").append("Round ").append(round)
+          .append(" (").append(visible).append(visible == 1 ? " match" : " matches").append(")");
+        if (calendar != null) {
+            sb.append(" - ").append(ROUND_DATE.format(calendar.getRoundDate(round)));
+        }
+        int bye = schedule.byeTeam(round);
+        if (bye >= 0) {
+            sb.append(" - bye: ").append(teamNames[bye]);
+        }
+        return sb.toString();
+    }
+
+    private String kickoffText(int match) {
+        if (calendar == null) {
+            return "";
+        }
+        return calendar.isAssigned(match) ? KICKOFF.format(calendar.getKickoff(match)) + "  " : "(unscheduled)  ";
+    }
+
+    private class RowCell extends ListCell<Integer> {
+        RowCell() {
+            setOnMouseClicked(e -> {
+                Integer row = getItem();
+                if (row != null && row < 0) {
+                    toggleRound(-row);
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(Integer row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setText(null);
+                setStyle(null);
+            } else if (row < 0) {
+                setText(headerText(-row));
+                setStyle("-fx-font-weight: bold;");
+            } else {
+                setText("    " + kickoffText(row) + teamNames[schedule.home(row)] + " vs " + teamNames[schedule.away(row)]);
+                setStyle(null);
+            }
+        }
+    }
+
+    // Read-only list view of the first size entries of an int array; boxes on access only
+    private static final class IntRowList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] rows;
+        private final int size;
+
+        IntRowList(int[] rows, int size) {
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return rows[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tournament.scheduler;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class Season {
+    private int id;
+    private String name;
+    private int leagueId;
+    private int legs;
+    private List<String> teamNames;
+    private LocalDate createdAt;
+
+    public Season(int id, String name, int leagueId, int legs, List<String> teamNames, LocalDate createdAt) {
+        this.id = id;
+        this.name = name;
+        this.leagueId = leagueId;
+        this.legs = legs;
+        this.teamNames = teamNames;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // -1 when the season does not belong to a league
+    public int getLeagueId() {
+        return leagueId;
+    }
+
+    public int getLegs() {
+        return legs;
+    }
+
+    public int getTeamCount() {
+        return teamNames.size();
+    }
+
+    // Indexed by the team index used in fixtures
+    public List<String> getTeamNames() {
+        return teamNames;
+    }
+
+    // UTC date the season was stored
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
\ No newline at end of file
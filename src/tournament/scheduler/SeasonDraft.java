@@ -0,0 +1,13 @@
+package tournament.scheduler;
+
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.util.List;
+
+/**
+ * A generated season that has not been stored yet. {@code teamNames} is
+ * indexed by the team indexes used in {@code schedule}; {@code leagueId} is
+ * -1 for seasons outside the league master data.
+ */
+public record SeasonDraft(String name, int leagueId, List<String> teamNames, RoundRobinSchedule schedule) {
+}
\ No newline at end of file
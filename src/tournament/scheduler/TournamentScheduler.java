@@ -1,82 +1,285 @@
+import tournament.scheduler.DatabaseManager;
+import tournament.scheduler.Team;
+import tournament.scheduler.db.ConnectionProvider;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleOptimizer;
+import tournament.scheduler.engine.SchedulePatternCache;
+import tournament.scheduler.export.CsvScheduleWriter;
+import tournament.scheduler.export.ExportSeason;
+import tournament.scheduler.export.JsonLinesScheduleWriter;
+import tournament.scheduler.export.ScheduleWriter;
+import tournament.scheduler.export.TextScheduleWriter;
+import tournament.scheduler.masterdata.MasterDataManager;
+import tournament.scheduler.server.ScheduleServer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 
+/**
+ * Headless batch front end. Generates one schedule per team list and writes
+ * them all to stdout or a file. Only the engine, export and (for --db)
+ * database classes are touched, never JavaFX, so it starts as fast as the
+ * JVM does and is safe to run from scripts and cron.
+ */
 public class TournamentScheduler {
     private static final int NUM_TEAMS = 8;
-    private static final int ROUNDS = (NUM_TEAMS - 1) * 2; // Each team plays against others twice
+    private static final int EXIT_USAGE = 2;
+    private static final int EXIT_FAILURE = 1;
+    // Same search effort as the GUI
+    private static final long OPTIMIZER_ITERATIONS = 200_000;
+    private static final Duration OPTIMIZER_BUDGET = Duration.ofSeconds(2);
+
+    private static final String USAGE = """
+        Usage: java TournamentScheduler [options] [team-file ...]
+
+        Each team file is one tournament with one team name per line; '-' reads
+        stdin, where blank lines separate tournaments. Lines starting with '#'
+        are ignored. Without any input, --teams placeholder teams T1..Tn are used.
+
+        Options:
+          --teams N          number of teams per tournament; lists are cut to
+                             their first N names (default: whole list, or 8)
+          --legs N           1 = single, 2 = double round-robin (default 2)
+          --format F         text, csv or jsonl (default text)
+          --seed S           optimize home/away breaks and carry-over with seed S
+          --db [URL]         schedule the teams stored in the database
+                             (default jdbc:sqlite:tournament.db)
+          --out FILE         write to FILE instead of stdout
+          --serve [PORT]     run the HTTP service instead (default port 8080),
+                             reading master data from --db
+          --bind ADDRESS     address the service listens on (default 127.0.0.1)
+          -h, --help         show this help
+        """;
+
+    private record Tournament(String name, List<String> teams) {
+    }
 
     public static void main(String[] args) {
-        // Initialize team names
-        String[] teams = new String[NUM_TEAMS];
-        for (int i = 0; i < NUM_TEAMS; i++) {
-            teams[i] = "T" + (i + 1);
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        Integer teamCount = null;
+        int legs = 2;
+        String format = "text";
+        Long seed = null;
+        String dbUrl = null;
+        Path out = null;
+        Integer port = null;
+        String bindAddress = "127.0.0.1";
+        List<String> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "-h", "--help" -> {
+                        System.out.print(USAGE);
+                        return 0;
+                    }
+                    case "--teams" -> teamCount = parseInt(arg, value(args, ++i, arg));
+                    case "--legs" -> legs = parseInt(arg, value(args, ++i, arg));
+                    case "--format" -> format = value(args, ++i, arg);
+                    case "--seed" -> seed = Long.parseLong(value(args, ++i, arg));
+                    case "--out" -> out = Path.of(value(args, ++i, arg));
+                    case "--serve" -> port = i + 1 < args.length && args[i + 1].matches("\\d+")
+                        ? parseInt(arg, args[++i]) : ScheduleServer.DEFAULT_PORT;
+                    case "--bind" -> bindAddress = value(args, ++i, arg);
+                    case "--db" -> dbUrl = i + 1 < args.length && args[i + 1].startsWith("jdbc:")
+                        ? args[++i] : ConnectionProvider.DEFAULT_URL;
+                    default -> {
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option " + arg);
+                        }
+                        inputs.add(arg);
+                    }
+                }
+            }
+            if (teamCount != null && teamCount < 2) {
+                throw new IllegalArgumentException("--teams must be at least 2, got " + teamCount);
+            }
+            if (legs < 1) {
+                throw new IllegalArgumentException("--legs must be positive, got " + legs);
+            }
+            if (!List.of("text", "csv", "jsonl").contains(format)) {
+                throw new IllegalArgumentException("Unknown format " + format);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.print(USAGE);
+            return EXIT_USAGE;
         }
 
-        // Generate schedule
-        List<Match> schedule = generateSchedule(teams);
+        if (port != null) {
+            return serve(bindAddress, port, dbUrl == null ? ConnectionProvider.DEFAULT_URL : dbUrl);
+        }
 
-        // Print schedule
-        printSchedule(schedule);
-    }
+        List<Tournament> tournaments;
+        try {
+            tournaments = readTournaments(inputs, dbUrl, teamCount);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading teams: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
 
-    static class Match {
-        String homeTeam;
-        String awayTeam;
-        int round;
+        try (ScheduleWriter writer = openWriter(format, out, tournaments.size() > 1)) {
+            for (Tournament tournament : tournaments) {
+                // Tournaments of the same size share one pattern
+                ScheduleOptimizer.Options options = seed == null ? null : ScheduleOptimizer.Options.defaults(seed)
+                    .withMaxIterations(OPTIMIZER_ITERATIONS)
+                    .withTimeBudget(OPTIMIZER_BUDGET);
+                RoundRobinSchedule schedule = SchedulePatternCache.shared()
+                    .get(tournament.teams().size(), legs, options);
+                writer.write(new ExportSeason(tournament.name(), tournament.name(), tournament.teams(), schedule, null));
+            }
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing schedules: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+        return 0;
+    }
 
-        Match(String homeTeam, String awayTeam, int round) {
-            this.homeTeam = homeTeam;
-            this.awayTeam = awayTeam;
-            this.round = round;
+    // Runs until the process is stopped
+    private static int serve(String bindAddress, int port, String dbUrl) {
+        ScheduleServer server;
+        try {
+            server = new ScheduleServer(new InetSocketAddress(bindAddress, port), new MasterDataManager(dbUrl));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.err.println("Listening on http://" + bindAddress + ":" + server.getPort() + "/api/");
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        return 0;
     }
 
-    private static List<Match> generateSchedule(String[] teams) {
-        List<Match> schedule = new ArrayList<>();
-        
-        // First half of the season (each team plays against others once)
-        for (int round = 0; round < NUM_TEAMS - 1; round++) {
-            for (int i = 0; i < NUM_TEAMS / 2; i++) {
-                int team1 = i;
-                int team2 = NUM_TEAMS - 1 - i;
-                
-                // Rotate teams except the first one
-                if (i > 0) {
-                    team1 = (round + i) % (NUM_TEAMS - 1);
-                    team2 = (round + NUM_TEAMS - 1 - i) % (NUM_TEAMS - 1);
+    private static List<Tournament> readTournaments(List<String> inputs, String dbUrl, Integer teamCount)
+            throws IOException {
+        List<Tournament> tournaments = new ArrayList<>();
+        for (String input : inputs) {
+            if (input.equals("-")) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                List<List<String>> lists = readLists(in, true);
+                for (int i = 0; i < lists.size(); i++) {
+                    tournaments.add(new Tournament(lists.size() == 1 ? "stdin" : "stdin " + (i + 1), lists.get(i)));
                 }
-                
-                if (team2 == 0) team2 = NUM_TEAMS - 1;
-                
-                schedule.add(new Match(teams[team1], teams[team2], round + 1));
+            } else {
+                Path file = Path.of(input);
+                try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    List<List<String>> lists = readLists(in, false);
+                    tournaments.add(new Tournament(baseName(file), lists.isEmpty() ? List.of() : lists.get(0)));
+                }
+            }
+        }
+        if (dbUrl != null) {
+            List<String> names = new ArrayList<>();
+            for (Team team : new DatabaseManager(dbUrl).getAllTeams()) {
+                names.add(team.getName());
             }
+            tournaments.add(new Tournament("database", names));
+        }
+        if (tournaments.isEmpty()) {
+            int count = teamCount == null ? NUM_TEAMS : teamCount;
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add("T" + (i + 1));
+            }
+            tournaments.add(new Tournament("Tournament", names));
         }
 
-        // Second half of the season (reverse home/away teams)
-        int firstHalfSize = schedule.size();
-        for (int i = 0; i < firstHalfSize; i++) {
-            Match match = schedule.get(i);
-            schedule.add(new Match(
-                match.awayTeam,
-                match.homeTeam,
-                match.round + NUM_TEAMS - 1
-            ));
+        List<Tournament> sized = new ArrayList<>(tournaments.size());
+        for (Tournament tournament : tournaments) {
+            List<String> teams = tournament.teams();
+            if (teamCount != null) {
+                if (teams.size() < teamCount) {
+                    throw new IllegalArgumentException(tournament.name() + " has " + teams.size()
+                        + " teams, " + teamCount + " required");
+                }
+                teams = teams.subList(0, teamCount);
+            }
+            if (teams.size() < 2) {
+                throw new IllegalArgumentException(tournament.name() + " needs at least 2 teams");
+            }
+            if (new HashSet<>(teams).size() != teams.size()) {
+                throw new IllegalArgumentException(tournament.name() + " has duplicate team names");
+            }
+            sized.add(new Tournament(tournament.name(), teams));
         }
+        return sized;
+    }
 
-        return schedule;
+    // One list per block of non-blank lines, or a single list if blank lines are not separators
+    private static List<List<String>> readLists(BufferedReader in, boolean blankLineSeparates) throws IOException {
+        List<List<String>> lists = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty()) {
+                if (blankLineSeparates && !current.isEmpty()) {
+                    lists.add(current);
+                    current = new ArrayList<>();
+                }
+            } else if (!line.startsWith("#")) {
+                current.add(line);
+            }
+        }
+        if (!current.isEmpty()) {
+            lists.add(current);
+        }
+        return lists;
     }
 
-    private static void printSchedule(List<Match> schedule) {
-        // Sort matches by round
-        schedule.sort((a, b) -> a.round - b.round);
+    private static ScheduleWriter openWriter(String format, Path out, boolean multipleTournaments)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+            out == null ? new FileOutputStream(FileDescriptor.out) : Files.newOutputStream(out),
+            StandardCharsets.UTF_8), ScheduleWriter.BUFFER_SIZE);
+        return switch (format) {
+            case "csv" -> new CsvScheduleWriter(writer);
+            case "jsonl" -> new JsonLinesScheduleWriter(writer);
+            default -> new TextScheduleWriter(writer, multipleTournaments);
+        };
+    }
 
-        int currentRound = 0;
-        for (Match match : schedule) {
-            if (currentRound != match.round) {
-                currentRound = match.round;
-                System.out.println("\nRound " + currentRound + ":");
-                System.out.println("-------------------");
-            }
-            System.out.printf("%s vs %s%n", match.homeTeam, match.awayTeam);
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[i];
+    }
+
+    private static int parseInt(String option, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " expects a number, got " + value);
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
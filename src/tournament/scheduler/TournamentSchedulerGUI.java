@@ -7,13 +7,45 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import tournament.scheduler.calendar.CalendarAssigner;
+import tournament.scheduler.calendar.CalendarRules;
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.db.AsyncDataAccess;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleOptimizer;
+import tournament.scheduler.engine.SchedulePatternCache;
+import tournament.scheduler.export.CsvScheduleWriter;
+import tournament.scheduler.export.ExportSeason;
+import tournament.scheduler.export.IcsExporter;
+import tournament.scheduler.export.JsonLinesScheduleWriter;
+import tournament.scheduler.export.ScheduleWriter;
+import tournament.scheduler.ui.FxAsync;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 public class TournamentSchedulerGUI extends Application {
     private static final int NUM_TEAMS = 8;
+    private static final List<LocalTime> KICKOFF_SLOTS = List.of(LocalTime.of(15, 0), LocalTime.of(17, 30));
+    private static final long OPTIMIZE_ITERATIONS = 200_000;
+    private static final Duration OPTIMIZE_BUDGET = Duration.ofSeconds(2);
     private int currentTeamIndex = 0;
-    private DatabaseManager dbManager;
+    // Opened in the background; only join it from background tasks
+    private CompletableFuture<DatabaseManager> dbManager;
     private TextField teamNameField;
     private Label promptLabel;
     private Button nextButton;
@@ -23,7 +55,7 @@ public class TournamentSchedulerGUI extends Application {
     
     @Override
     public void start(Stage primaryStage) {
-        dbManager = new DatabaseManager();
+        dbManager = AsyncDataAccess.supply(DatabaseManager::new);
         
         primaryStage.setTitle("Tournament Scheduler");
 
@@ -33,13 +65,14 @@ public class TournamentSchedulerGUI extends Application {
         mainLayout.setAlignment(Pos.CENTER);
 
         // Check for existing teams
-        List<Team> existingTeams = dbManager.getAllTeams();
-        
-        if (!existingTeams.isEmpty()) {
-            showExistingTeamsScreen(existingTeams);
-        } else {
-            showNewTeamInputScreen();
-        }
+        showLoading("Loading teams...");
+        FxAsync.supply(() -> dbManager.join().getAllTeams(), existingTeams -> {
+            if (!existingTeams.isEmpty()) {
+                showExistingTeamsScreen(existingTeams);
+            } else {
+                showNewTeamInputScreen();
+            }
+        }, error -> showAlert("Error", "Failed to load teams: " + error.getMessage()));
 
         // Create scene
         Scene scene = new Scene(mainLayout, 500, 600);
@@ -47,6 +80,10 @@ public class TournamentSchedulerGUI extends Application {
         primaryStage.show();
     }
 
+    private void showLoading(String message) {
+        mainLayout.getChildren().setAll(new ProgressIndicator(), new Label(message));
+    }
+
     private void showExistingTeamsScreen(List<Team> existingTeams) {
         // Clear previous content
         mainLayout.getChildren().clear();
@@ -89,10 +126,7 @@ public class TournamentSchedulerGUI extends Application {
             }
         });
 
-        startFreshButton.setOnAction(e -> {
-            dbManager.deleteAllTeams();
-            showNewTeamInputScreen();
-        });
+        startFreshButton.setOnAction(e -> deleteTeamsAndStartOver());
     }
 
     private void showNewTeamInputScreen() {
@@ -132,18 +166,24 @@ public class TournamentSchedulerGUI extends Application {
             return;
         }
 
-        // Save team to database
+        // Save team to database in the background
         Team team = new Team(teamName);
-        try {
-            dbManager.saveTeam(team);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("UNIQUE constraint failed")) {
+        nextButton.setDisable(true);
+        teamNameField.setDisable(true);
+        FxAsync.run(() -> dbManager.join().saveTeam(team), this::teamSaved, error -> {
+            nextButton.setDisable(false);
+            teamNameField.setDisable(false);
+            if (error.getMessage() != null && error.getMessage().contains("UNIQUE constraint failed")) {
                 showAlert("Team name '" + teamName + "' already exists. Please use a different name.");
-                return;
+            } else {
+                showAlert("Error", "Failed to save team: " + error.getMessage());
             }
-            throw e;
-        }
-        
+        });
+    }
+
+    private void teamSaved() {
+        nextButton.setDisable(false);
+        teamNameField.setDisable(false);
         currentTeamIndex++;
         teamNameField.clear();
 
@@ -155,6 +195,47 @@ public class TournamentSchedulerGUI extends Application {
     }
 
     private void generateAndDisplaySchedule() {
+        showLoading("Generating schedule...");
+        
+        // Get teams from database and generate off the FX thread; a stored
+        // season for the same teams is reopened instead of regenerated
+        FxAsync.supply(() -> {
+            DatabaseManager db = dbManager.join();
+            List<Team> teams = db.getAllTeams();
+            List<String> names = teams.stream()
+                                      .map(Team::getName)
+                                      .toList();
+            String[] teamNames = names.toArray(String[]::new);
+            
+            Season latest = db.getLatestSeason();
+            if (latest != null && latest.getTeamNames().equals(names)) {
+                RoundRobinSchedule stored = db.loadSchedule(latest);
+                return new GeneratedSchedule(latest.getId(), latest.getName(), teamNames, stored,
+                    assignCalendar(latest, stored));
+            }
+            
+            // Seeded from the team names with a fixed worker count; the budget is only
+            // a cutoff, so the same teams get the same schedule on any machine that
+            // finishes the iterations within it
+            ScheduleOptimizer.Options options = ScheduleOptimizer.Options.defaults(names.hashCode())
+                .withMaxIterations(OPTIMIZE_ITERATIONS)
+                .withTimeBudget(OPTIMIZE_BUDGET);
+            RoundRobinSchedule pattern = SchedulePatternCache.shared().get(teamNames.length, 2, options);
+            Season season = db.getSeason(db.saveSeason("Season " + LocalDate.now(), -1, names, pattern));
+            return new GeneratedSchedule(season.getId(), season.getName(), teamNames, pattern,
+                assignCalendar(season, pattern));
+        }, this::showSchedule, error -> showAlert("Error", "Failed to generate schedule: " + error.getMessage()));
+    }
+
+    // Weekend rounds from the season's creation date; every team plays at its own ground
+    private static ScheduleCalendar assignCalendar(Season season, RoundRobinSchedule pattern) {
+        CalendarRules rules = CalendarRules.weekends(season.getCreatedAt(), KICKOFF_SLOTS, Set.of());
+        int[] homeVenues = new int[pattern.getTeamCount()];
+        Arrays.setAll(homeVenues, team -> team);
+        return new CalendarAssigner(rules, homeVenues.length).assign(pattern, homeVenues);
+    }
+
+    private void showSchedule(GeneratedSchedule generated) {
         // Hide input controls and show schedule
         mainLayout.getChildren().clear();
 
@@ -163,37 +244,77 @@ public class TournamentSchedulerGUI extends Application {
         headerLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
         mainLayout.getChildren().add(headerLabel);
 
-        // Create and show schedule area
-        scheduleArea = new TextArea();
-        scheduleArea.setEditable(false);
-        scheduleArea.setPrefRowCount(20);
-        scheduleArea.setPrefColumnCount(40);
-        scheduleArea.setWrapText(true);
-        scheduleArea.setVisible(true);
-        mainLayout.getChildren().add(scheduleArea);
-
-        // Get teams from database
-        List<Team> teams = dbManager.getAllTeams();
-        String[] teamNames = teams.stream()
-                                 .map(Team::getName)
-                                 .toArray(String[]::new);
-        
-        List<Match> schedule = generateSchedule(teamNames);
-        displaySchedule(schedule);
+        // Rows are rendered on demand, grouped by round
+        ScheduleView scheduleView = new ScheduleView(generated.pattern(), generated.teamNames(), generated.calendar());
+        VBox.setVgrow(scheduleView, Priority.ALWAYS);
+        mainLayout.getChildren().add(scheduleView);
+
+        // Export the season as a file or as one calendar per team
+        ExportSeason season = new ExportSeason("season-" + generated.seasonId(), generated.seasonName(),
+            List.of(generated.teamNames()), generated.pattern(), generated.calendar());
+        MenuItem csvItem = new MenuItem("CSV...");
+        csvItem.setOnAction(e -> exportSchedule(season, "CSV", "*.csv", CsvScheduleWriter::new));
+        MenuItem jsonItem = new MenuItem("JSON Lines...");
+        jsonItem.setOnAction(e -> exportSchedule(season, "JSON Lines", "*.jsonl", JsonLinesScheduleWriter::new));
+        MenuItem icsItem = new MenuItem("Team Calendars (.ics)...");
+        icsItem.setOnAction(e -> exportTeamCalendars(season));
+        MenuButton exportButton = new MenuButton("Export", null, csvItem, jsonItem, icsItem);
 
         // Add a "New Tournament" button
         Button newTournamentButton = new Button("Start New Tournament");
-        newTournamentButton.setOnAction(e -> {
-            dbManager.deleteAllTeams();
+        newTournamentButton.setOnAction(e -> deleteTeamsAndStartOver());
+        mainLayout.getChildren().add(new HBox(10, exportButton, newTournamentButton));
+    }
+
+    private void exportSchedule(ExportSeason season, String description, String extension,
+                                Function<Writer, ScheduleWriter> format) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Schedule");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(description, extension));
+        File file = chooser.showSaveDialog(mainLayout.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        FxAsync.run(() -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 ScheduleWriter writer = format.apply(ScheduleWriter.bufferedWriter(channel))) {
+                writer.write(season);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, () -> { }, error -> showAlert("Error", "Failed to export schedule: " + error.getMessage()));
+    }
+
+    private void exportTeamCalendars(ExportSeason season) {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Export Team Calendars");
+        File directory = chooser.showDialog(mainLayout.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+
+        FxAsync.run(() -> {
+            try {
+                new IcsExporter().writeAllTeams(season, directory.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, () -> { }, error -> showAlert("Error", "Failed to export calendars: " + error.getMessage()));
+    }
+
+    private void deleteTeamsAndStartOver() {
+        showLoading("Deleting teams...");
+        FxAsync.run(() -> dbManager.join().deleteAllTeams(), () -> {
             currentTeamIndex = 0;
             showNewTeamInputScreen();
-        });
-        mainLayout.getChildren().add(newTournamentButton);
+        }, error -> showAlert("Error", "Failed to delete teams: " + error.getMessage()));
     }
 
-    private void displaySchedule(List<Match> schedule) {
+    // Plain-text rendering; expects matches in round order as generated
+    static String formatSchedule(List<Match> schedule) {
         StringBuilder sb = new StringBuilder();
-        schedule.sort((a, b) -> a.round - b.round);
 
         int currentRound = 0;
         for (Match match : schedule) {
@@ -205,7 +326,7 @@ public class TournamentSchedulerGUI extends Application {
             sb.append(match.homeTeam).append(" vs ").append(match.awayTeam).append("\n");
         }
 
-        scheduleArea.setText(sb.toString());
+        return sb.toString();
     }
 
     private void showAlert(String message) {
@@ -220,6 +341,10 @@ public class TournamentSchedulerGUI extends Application {
         alert.showAndWait();
     }
 
+    private record GeneratedSchedule(int seasonId, String seasonName, String[] teamNames, RoundRobinSchedule pattern,
+                                     ScheduleCalendar calendar) {
+    }
+
     static class Match {
         String homeTeam;
         String awayTeam;
@@ -232,38 +357,13 @@ public class TournamentSchedulerGUI extends Application {
         }
     }
 
-    private List<Match> generateSchedule(String[] teams) {
-        List<Match> schedule = new ArrayList<>();
-        
-        // First half of the season (each team plays against others once)
-        for (int round = 0; round < NUM_TEAMS - 1; round++) {
-            for (int i = 0; i < NUM_TEAMS / 2; i++) {
-                int team1 = i;
-                int team2 = NUM_TEAMS - 1 - i;
-                
-                // Rotate teams except the first one
-                if (i > 0) {
-                    team1 = (round + i) % (NUM_TEAMS - 1);
-                    team2 = (round + NUM_TEAMS - 1 - i) % (NUM_TEAMS - 1);
-                }
-                
-                if (team2 == 0) team2 = NUM_TEAMS - 1;
-                
-                schedule.add(new Match(teams[team1], teams[team2], round + 1));
-            }
-        }
-
-        // Second half of the season (reverse home/away teams)
-        int firstHalfSize = schedule.size();
-        for (int i = 0; i < firstHalfSize; i++) {
-            Match match = schedule.get(i);
-            schedule.add(new Match(
-                match.awayTeam,
-                match.homeTeam,
-                match.round + NUM_TEAMS - 1
-            ));
+    static List<Match> generateSchedule(String[] teams) {
+        // Double round robin: second leg reverses home/away
+        RoundRobinSchedule pattern = SchedulePatternCache.shared().get(teams.length, 2);
+        List<Match> schedule = new ArrayList<>(pattern.getMatchCount());
+        for (int m = 0; m < pattern.getMatchCount(); m++) {
+            schedule.add(new Match(teams[pattern.home(m)], teams[pattern.away(m)], pattern.round(m)));
         }
-
         return schedule;
     }
 
@@ -0,0 +1,34 @@
+package tournament.scheduler.archive;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a schedule archive. All values are little-endian; offsets are
+ * absolute file positions.
+ *
+ * <pre>
+ * header      magic, version, dictionary offset (long), season table offset (long)
+ * per season  teams        int[teamCount]       dictionary ids, ascending
+ *             round index  int[roundCount + 1]  first match of each round
+ *             matches      int[3 * matchCount]  (round, home id, away id)
+ *             team index   int[teamCount + 1]   start of each team's run in team matches
+ *             team matches int[2 * matchCount]  match numbers grouped by team, in round order
+ * dictionary  count, int[count + 1] byte offsets into the UTF-8 data that follows
+ * seasons     count, then one fixed-size record per season
+ * </pre>
+ */
+final class ArchiveFormat {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int MAGIC = 0x52415354; // "TSAR" in file order
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int DICTIONARY_OFFSET_POSITION = 8;
+    static final int SEASON_TABLE_OFFSET_POSITION = 16;
+
+    // name id, team count, legs, round count, match count, unused, then five section offsets
+    static final int SEASON_RECORD_BYTES = 6 * Integer.BYTES + 5 * Long.BYTES;
+    static final int MATCH_INTS = 3;
+
+    private ArchiveFormat() {
+    }
+}
@@ -0,0 +1,160 @@
+package tournament.scheduler.archive;
+
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * One season of a {@link ScheduleArchive}, read in place from the mapped
+ * file. Teams are identified by their archive-wide dictionary id; match
+ * numbers are 0-based and rounds 1-based, as in {@link RoundRobinSchedule}.
+ */
+public final class ArchivedSeason {
+    private final ScheduleArchive archive;
+    private final ByteBuffer data;
+    private final int nameId;
+    private final int teamCount;
+    private final int legs;
+    private final int roundCount;
+    private final int matchCount;
+    private final int teams;
+    private final int roundIndex;
+    private final int matches;
+    private final int teamIndex;
+    private final int teamMatches;
+
+    ArchivedSeason(ScheduleArchive archive, ByteBuffer data, int record) {
+        this.archive = archive;
+        this.data = data;
+        this.nameId = data.getInt(record);
+        this.teamCount = data.getInt(record + 4);
+        this.legs = data.getInt(record + 8);
+        this.roundCount = data.getInt(record + 12);
+        this.matchCount = data.getInt(record + 16);
+        this.teams = (int) data.getLong(record + 24);
+        this.roundIndex = (int) data.getLong(record + 32);
+        this.matches = (int) data.getLong(record + 40);
+        this.teamIndex = (int) data.getLong(record + 48);
+        this.teamMatches = (int) data.getLong(record + 56);
+    }
+
+    public String getName() {
+        return archive.name(nameId);
+    }
+
+    public int getTeamCount() {
+        return teamCount;
+    }
+
+    public int getLegs() {
+        return legs;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    // Dictionary id of the i-th team, in ascending id order
+    public int teamId(int i) {
+        return data.getInt(teams + i * Integer.BYTES);
+    }
+
+    public int round(int match) {
+        return data.getInt(matches + match * ArchiveFormat.MATCH_INTS * Integer.BYTES);
+    }
+
+    public int homeId(int match) {
+        return data.getInt(matches + (match * ArchiveFormat.MATCH_INTS + 1) * Integer.BYTES);
+    }
+
+    public int awayId(int match) {
+        return data.getInt(matches + (match * ArchiveFormat.MATCH_INTS + 2) * Integer.BYTES);
+    }
+
+    public String homeName(int match) {
+        return archive.name(homeId(match));
+    }
+
+    public String awayName(int match) {
+        return archive.name(awayId(match));
+    }
+
+    public int firstMatchOfRound(int round) {
+        return data.getInt(roundIndex + (round - 1) * Integer.BYTES);
+    }
+
+    // Exclusive end of the round's matches
+    public int endOfRound(int round) {
+        return data.getInt(roundIndex + round * Integer.BYTES);
+    }
+
+    // Number of matches of a team in this season, 0 if it did not take part
+    public int teamMatchCount(int teamId) {
+        int i = teamPosition(teamId);
+        return i < 0 ? 0 : teamIndexAt(i + 1) - teamIndexAt(i);
+    }
+
+    // The k-th match of a team, in round order
+    public int teamMatch(int teamId, int k) {
+        int i = teamPosition(teamId);
+        if (i < 0 || k < 0 || k >= teamIndexAt(i + 1) - teamIndexAt(i)) {
+            throw new IndexOutOfBoundsException("Match " + k + " of team " + teamId);
+        }
+        return data.getInt(teamMatches + (teamIndexAt(i) + k) * Integer.BYTES);
+    }
+
+    // Team names in ascending id order; the schedule from toSchedule indexes into this list
+    public List<String> teamNames() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return archive.name(teamId(index));
+            }
+
+            @Override
+            public int size() {
+                return teamCount;
+            }
+        };
+    }
+
+    // Copies the season onto the heap, with teams numbered as in teamNames()
+    public RoundRobinSchedule toSchedule() {
+        int[] home = new int[matchCount];
+        int[] away = new int[matchCount];
+        for (int m = 0; m < matchCount; m++) {
+            home[m] = teamPosition(homeId(m));
+            away[m] = teamPosition(awayId(m));
+        }
+        int matchesPerRound = roundCount == 0 ? 0 : matchCount / roundCount;
+        return RoundRobinSchedule.of(teamCount, legs, matchesPerRound, home, away);
+    }
+
+    // Binary search over the ascending team ids
+    private int teamPosition(int teamId) {
+        int low = 0;
+        int high = teamCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = teamId(mid);
+            if (id < teamId) {
+                low = mid + 1;
+            } else if (id > teamId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int teamIndexAt(int i) {
+        return data.getInt(teamIndex + i * Integer.BYTES);
+    }
+}
\ No newline at end of file
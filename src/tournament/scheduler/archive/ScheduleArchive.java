@@ -0,0 +1,103 @@
+package tournament.scheduler.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only view of a schedule archive written by
+ * {@link ScheduleArchiveWriter}. The file is mapped once and every read is
+ * an absolute get on the mapping, so opening an archive costs the same
+ * regardless of its size and pages are only loaded when touched. Team names
+ * are decoded on request.
+ *
+ * <p>A single {@link MappedByteBuffer} is limited to 2 GB; larger histories
+ * should be split into one archive per period.
+ */
+public final class ScheduleArchive implements AutoCloseable {
+    private final ByteBuffer data;
+    private final int dictionarySize;
+    private final int dictionaryOffsets;
+    private final int dictionaryBytes;
+    private final int seasonCount;
+    private final int seasonRecords;
+    private Map<String, Integer> idsByName;
+
+    private ScheduleArchive(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < ArchiveFormat.HEADER_BYTES || data.getInt(0) != ArchiveFormat.MAGIC) {
+            throw new IOException("Not a schedule archive");
+        }
+        if (data.getInt(4) != ArchiveFormat.VERSION) {
+            throw new IOException("Unsupported schedule archive version " + data.getInt(4));
+        }
+        int dictionaryOffset = (int) data.getLong(ArchiveFormat.DICTIONARY_OFFSET_POSITION);
+        int seasonTableOffset = (int) data.getLong(ArchiveFormat.SEASON_TABLE_OFFSET_POSITION);
+        if (dictionaryOffset <= 0 || seasonTableOffset <= 0) {
+            throw new IOException("Schedule archive was not closed properly");
+        }
+        this.dictionarySize = data.getInt(dictionaryOffset);
+        this.dictionaryOffsets = dictionaryOffset + Integer.BYTES;
+        this.dictionaryBytes = dictionaryOffsets + (dictionarySize + 1) * Integer.BYTES;
+        this.seasonCount = data.getInt(seasonTableOffset);
+        this.seasonRecords = seasonTableOffset + Integer.BYTES;
+    }
+
+    public static ScheduleArchive open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Schedule archive exceeds 2 GB: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ScheduleArchive(mapped.order(ArchiveFormat.ORDER));
+        }
+    }
+
+    public int getSeasonCount() {
+        return seasonCount;
+    }
+
+    public ArchivedSeason season(int index) {
+        if (index < 0 || index >= seasonCount) {
+            throw new IndexOutOfBoundsException("Season " + index + " of " + seasonCount);
+        }
+        return new ArchivedSeason(this, data, seasonRecords + index * ArchiveFormat.SEASON_RECORD_BYTES);
+    }
+
+    // Number of distinct team and season names
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
+    public String name(int id) {
+        int start = data.getInt(dictionaryOffsets + id * Integer.BYTES);
+        int end = data.getInt(dictionaryOffsets + (id + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        data.get(dictionaryBytes + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Dictionary id of a team or season name, or -1; the lookup table is built on first use
+    public synchronized int nameId(String name) {
+        if (idsByName == null) {
+            idsByName = new HashMap<>(dictionarySize * 2);
+            for (int id = 0; id < dictionarySize; id++) {
+                idsByName.put(name(id), id);
+            }
+        }
+        return idsByName.getOrDefault(name, -1);
+    }
+
+    // The mapping is released by the garbage collector; closing only drops the name table
+    @Override
+    public synchronized void close() {
+        idsByName = null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package tournament.scheduler.archive;
+
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a schedule archive (see {@link ArchiveFormat}). Seasons are
+ * appended as they come and written through a fixed buffer, so only the
+ * team-name dictionary and one small record per season are held in memory;
+ * both are written on {@link #close()}, which also completes the header.
+ */
+public final class ScheduleArchiveWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ArchiveFormat.ORDER);
+    private final Map<String, Integer> dictionaryIds = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    // One record per season, written after the dictionary on close
+    private ByteBuffer seasonRecords = ByteBuffer.allocate(ArchiveFormat.SEASON_RECORD_BYTES * 16)
+        .order(ArchiveFormat.ORDER);
+    private int seasonCount;
+    private long position;
+    private boolean closed;
+
+    public ScheduleArchiveWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        // Offsets are filled in on close
+        buffer.putInt(ArchiveFormat.MAGIC).putInt(ArchiveFormat.VERSION).putLong(0).putLong(0);
+        position = ArchiveFormat.HEADER_BYTES;
+    }
+
+    // Team names are indexed by the team indexes of the schedule
+    public void append(String seasonName, List<String> teamNames, RoundRobinSchedule schedule) throws IOException {
+        int teamCount = schedule.getTeamCount();
+        if (teamNames.size() != teamCount) {
+            throw new IllegalArgumentException("Expected " + teamCount + " team names, got " + teamNames.size());
+        }
+        int matchCount = schedule.getMatchCount();
+        int roundCount = schedule.getRoundCount();
+
+        // Teams are stored by ascending dictionary id so readers can binary search them
+        int[] ids = new int[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            ids[i] = dictionaryId(teamNames.get(i));
+        }
+        long[] sorted = new long[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            sorted[i] = (long) ids[i] << 32 | i;
+        }
+        Arrays.sort(sorted);
+        int[] rank = new int[teamCount];
+        for (int r = 0; r < teamCount; r++) {
+            rank[(int) sorted[r]] = r;
+            if (r > 0 && sorted[r] >>> 32 == sorted[r - 1] >>> 32) {
+                throw new IllegalArgumentException("Duplicate team name in " + seasonName + ": "
+                    + teamNames.get((int) sorted[r]));
+            }
+        }
+
+        long teamsOffset = position;
+        for (long entry : sorted) {
+            putInt((int) (entry >>> 32));
+        }
+
+        long roundIndexOffset = position;
+        for (int round = 1; round <= roundCount; round++) {
+            putInt(schedule.firstMatchOfRound(round));
+        }
+        putInt(matchCount);
+
+        long matchesOffset = position;
+        for (int m = 0; m < matchCount; m++) {
+            putInt(schedule.round(m));
+            putInt(ids[schedule.home(m)]);
+            putInt(ids[schedule.away(m)]);
+        }
+
+        // Counting sort of matches by team rank, keeping round order
+        int[] start = new int[teamCount + 1];
+        for (int m = 0; m < matchCount; m++) {
+            start[rank[schedule.home(m)] + 1]++;
+            start[rank[schedule.away(m)] + 1]++;
+        }
+        for (int r = 0; r < teamCount; r++) {
+            start[r + 1] += start[r];
+        }
+        long teamIndexOffset = position;
+        for (int value : start) {
+            putInt(value);
+        }
+        int[] byTeam = new int[start[teamCount]];
+        int[] next = start.clone();
+        for (int m = 0; m < matchCount; m++) {
+            byTeam[next[rank[schedule.home(m)]]++] = m;
+            byTeam[next[rank[schedule.away(m)]]++] = m;
+        }
+        long teamMatchesOffset = position;
+        for (int m : byTeam) {
+            putInt(m);
+        }
+
+        ensureRecordCapacity();
+        seasonRecords.putInt(dictionaryId(seasonName)).putInt(teamCount).putInt(schedule.getLegs())
+            .putInt(roundCount).putInt(matchCount).putInt(0)
+            .putLong(teamsOffset).putLong(roundIndexOffset).putLong(matchesOffset)
+            .putLong(teamIndexOffset).putLong(teamMatchesOffset);
+        seasonCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long dictionaryOffset = position;
+            byte[][] encoded = new byte[dictionary.size()][];
+            putInt(dictionary.size());
+            int offset = 0;
+            putInt(0);
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = dictionary.get(i).getBytes(StandardCharsets.UTF_8);
+                offset += encoded[i].length;
+                putInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                putBytes(bytes);
+            }
+
+            long seasonTableOffset = position;
+            putInt(seasonCount);
+            seasonRecords.flip();
+            putBytes(seasonRecords);
+            drain();
+
+            ByteBuffer offsets = ByteBuffer.allocate(2 * Long.BYTES).order(ArchiveFormat.ORDER);
+            offsets.putLong(dictionaryOffset).putLong(seasonTableOffset).flip();
+            channel.write(offsets, ArchiveFormat.DICTIONARY_OFFSET_POSITION);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int dictionaryId(String name) {
+        Integer id = dictionaryIds.get(name);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(name);
+            dictionaryIds.put(name, id);
+        }
+        return id;
+    }
+
+    private void ensureRecordCapacity() {
+        if (seasonRecords.remaining() < ArchiveFormat.SEASON_RECORD_BYTES) {
+            ByteBuffer grown = ByteBuffer.allocate(seasonRecords.capacity() * 2).order(ArchiveFormat.ORDER);
+            seasonRecords.flip();
+            grown.put(seasonRecords);
+            seasonRecords = grown;
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain();
+        }
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        putBytes(ByteBuffer.wrap(bytes));
+    }
+
+    private void putBytes(ByteBuffer source) throws IOException {
+        position += source.remaining();
+        while (source.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(buffer.remaining(), source.remaining());
+            ByteBuffer slice = source.slice(source.position(), chunk);
+            buffer.put(slice);
+            source.position(source.position() + chunk);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package tournament.scheduler.calendar;
+
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Maps the rounds of schedules to dates and their matches to venue and
+ * kickoff-slot pairs. Every match is played at the home team's venue.
+ *
+ * <p>Venue occupancy is shared by all schedules assigned through the same
+ * instance, so leagues sharing a stadium never clash. It is kept as one
+ * {@code long} per day and venue whose bits are the taken kickoff slots: the
+ * first free slot is a single bit operation rather than a scan over the
+ * matches already placed. Team occupancy per day is a {@link BitSet} for the
+ * schedule being assigned.
+ *
+ * <p>A match that finds no free slot at its venue on any day of its round is
+ * left unassigned and counted in {@link ScheduleCalendar#getUnassignedCount()}.
+ */
+public final class CalendarAssigner {
+    private static final int INITIAL_DAYS = 366;
+
+    private final CalendarRules rules;
+    private final int venueCount;
+    private final long allSlots;
+    private final BitSet blackoutDays = new BitSet();
+    // Start day of each round, extended as longer schedules are assigned
+    private int[] roundStartDays = new int[0];
+    // Taken slots per (day, venue) at index day * venueCount + venue
+    private long[] venueSlots;
+
+    public CalendarAssigner(CalendarRules rules, int venueCount) {
+        if (venueCount < 1) {
+            throw new IllegalArgumentException("At least one venue is required, got " + venueCount);
+        }
+        this.rules = rules;
+        this.venueCount = venueCount;
+        int slotCount = rules.kickoffSlots().size();
+        this.allSlots = slotCount == Long.SIZE ? -1L : (1L << slotCount) - 1;
+        this.venueSlots = new long[INITIAL_DAYS * venueCount];
+        for (LocalDate date : rules.blackoutDates()) {
+            long day = ChronoUnit.DAYS.between(rules.firstMatchday(), date);
+            if (day >= 0 && day < Integer.MAX_VALUE) {
+                blackoutDays.set((int) day);
+            }
+        }
+    }
+
+    public CalendarRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Places every match of the schedule. {@code homeVenues[team]} is the
+     * venue of each team; teams of different schedules may share venues.
+     */
+    public synchronized ScheduleCalendar assign(RoundRobinSchedule schedule, int[] homeVenues) {
+        int teamCount = schedule.getTeamCount();
+        if (homeVenues.length != teamCount) {
+            throw new IllegalArgumentException("Expected " + teamCount + " home venues, got " + homeVenues.length);
+        }
+        for (int venue : homeVenues) {
+            if (venue < 0 || venue >= venueCount) {
+                throw new IllegalArgumentException("Venue " + venue + " is outside 0.." + (venueCount - 1));
+            }
+        }
+
+        int matchCount = schedule.getMatchCount();
+        int[] days = new int[matchCount];
+        int[] slots = new int[matchCount];
+        int[] venues = new int[matchCount];
+        // Bit day * teamCount + team is set once the team plays that day
+        BitSet teamDays = new BitSet();
+        int unassigned = 0;
+
+        int[] starts = roundStartDays(schedule.getRoundCount());
+        for (int m = 0; m < matchCount; m++) {
+            int home = schedule.home(m);
+            int away = schedule.away(m);
+            int venue = homeVenues[home];
+            int start = starts[schedule.round(m) - 1];
+            venues[m] = venue;
+            days[m] = -1;
+            slots[m] = -1;
+
+            for (int day = start; day < start + rules.matchdayLength(); day++) {
+                if (blackoutDays.get(day)
+                        || teamDays.get(day * teamCount + home)
+                        || teamDays.get(day * teamCount + away)) {
+                    continue;
+                }
+                ensureDays(day);
+                int cell = day * venueCount + venue;
+                long free = ~venueSlots[cell] & allSlots;
+                if (free == 0) {
+                    continue;
+                }
+                int slot = Long.numberOfTrailingZeros(free);
+                venueSlots[cell] |= 1L << slot;
+                teamDays.set(day * teamCount + home);
+                teamDays.set(day * teamCount + away);
+                days[m] = day;
+                slots[m] = slot;
+                break;
+            }
+            if (days[m] < 0) {
+                unassigned++;
+            }
+        }
+
+        return new ScheduleCalendar(rules, Arrays.copyOf(starts, schedule.getRoundCount()),
+            days, slots, venues, unassigned);
+    }
+
+    // Frees the slots held by a calendar, e.g. before reassigning its league
+    public synchronized void release(ScheduleCalendar calendar) {
+        for (int m = 0; m < calendar.getMatchCount(); m++) {
+            if (calendar.isAssigned(m)) {
+                venueSlots[calendar.getDay(m) * venueCount + calendar.getVenue(m)] &= ~(1L << calendar.getSlot(m));
+            }
+        }
+    }
+
+    private int[] roundStartDays(int rounds) {
+        if (roundStartDays.length < rounds) {
+            int known = roundStartDays.length;
+            roundStartDays = Arrays.copyOf(roundStartDays, rounds);
+            for (int round = known; round < rounds; round++) {
+                // Nominal day from the first matchday, so a blackout only moves its own round
+                int day = round * rules.daysBetweenRounds();
+                if (round > 0) {
+                    day = Math.max(day, roundStartDays[round - 1] + 1);
+                }
+                roundStartDays[round] = blackoutDays.nextClearBit(day);
+            }
+        }
+        return roundStartDays;
+    }
+
+    private void ensureDays(int day) {
+        int needed = (day + 1) * venueCount;
+        if (needed > venueSlots.length) {
+            venueSlots = Arrays.copyOf(venueSlots, Math.max(needed, venueSlots.length * 2));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package tournament.scheduler.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * When rounds may be played. Round {@code r} is due {@code (r - 1) *
+ * daysBetweenRounds} days after {@code firstMatchday} and is pushed back past
+ * blackout dates; later rounds keep their own dates. A round's matches may be spread over
+ * {@code matchdayLength} consecutive days, each offering the kickoff slots in
+ * order.
+ */
+public record CalendarRules(LocalDate firstMatchday, int daysBetweenRounds, int matchdayLength,
+                            List<LocalTime> kickoffSlots, Set<LocalDate> blackoutDates) {
+    // Slots of one venue and day are tracked as bits of a long
+    public static final int MAX_SLOTS = Long.SIZE;
+
+    public CalendarRules {
+        if (daysBetweenRounds < 1) {
+            throw new IllegalArgumentException("Rounds must be at least one day apart, got " + daysBetweenRounds);
+        }
+        if (matchdayLength < 1) {
+            throw new IllegalArgumentException("A matchday needs at least one day, got " + matchdayLength);
+        }
+        if (kickoffSlots.isEmpty() || kickoffSlots.size() > MAX_SLOTS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SLOTS + " kickoff slots are required, got "
+                + kickoffSlots.size());
+        }
+        kickoffSlots = List.copyOf(kickoffSlots);
+        blackoutDates = Set.copyOf(blackoutDates);
+    }
+
+    // Weekend rounds starting on the first Saturday on or after the given date
+    public static CalendarRules weekends(LocalDate from, List<LocalTime> kickoffSlots, Set<LocalDate> blackoutDates) {
+        LocalDate saturday = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+        return new CalendarRules(saturday, 7, 2, kickoffSlots, blackoutDates);
+    }
+}
@@ -0,0 +1,70 @@
+package tournament.scheduler.calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Dates, kickoff slots and venues of one schedule, indexed like the matches
+ * of the {@code RoundRobinSchedule} it was assigned from. Days are counted
+ * from the first matchday of the rules; a match that could not be placed has
+ * day -1.
+ */
+public final class ScheduleCalendar {
+    private final CalendarRules rules;
+    private final int[] roundStartDays;
+    private final int[] days;
+    private final int[] slots;
+    private final int[] venues;
+    private final int unassignedCount;
+
+    ScheduleCalendar(CalendarRules rules, int[] roundStartDays, int[] days, int[] slots, int[] venues,
+                     int unassignedCount) {
+        this.rules = rules;
+        this.roundStartDays = roundStartDays;
+        this.days = days;
+        this.slots = slots;
+        this.venues = venues;
+        this.unassignedCount = unassignedCount;
+    }
+
+    public CalendarRules getRules() {
+        return rules;
+    }
+
+    public int getMatchCount() {
+        return days.length;
+    }
+
+    public boolean isAssigned(int match) {
+        return days[match] >= 0;
+    }
+
+    public int getUnassignedCount() {
+        return unassignedCount;
+    }
+
+    // First day of a 1-based round
+    public LocalDate getRoundDate(int round) {
+        return rules.firstMatchday().plusDays(roundStartDays[round - 1]);
+    }
+
+    public LocalDate getDate(int match) {
+        return isAssigned(match) ? rules.firstMatchday().plusDays(days[match]) : null;
+    }
+
+    public LocalDateTime getKickoff(int match) {
+        return isAssigned(match) ? getDate(match).atTime(rules.kickoffSlots().get(slots[match])) : null;
+    }
+
+    public int getDay(int match) {
+        return days[match];
+    }
+
+    public int getSlot(int match) {
+        return slots[match];
+    }
+
+    public int getVenue(int match) {
+        return venues[match];
+    }
+}
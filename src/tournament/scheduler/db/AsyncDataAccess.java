@@ -0,0 +1,32 @@
+package tournament.scheduler.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work on virtual threads. Threads waiting for a
+ * pooled connection or the SQLite lock are parked cheaply, and callers get
+ * a {@link CompletableFuture} instead of blocking themselves.
+ */
+public final class AsyncDataAccess {
+    private static final ExecutorService EXECUTOR =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-", 0).factory());
+
+    private AsyncDataAccess() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, EXECUTOR);
+    }
+
+    public static CompletableFuture<Void> run(Runnable work) {
+        return CompletableFuture.runAsync(work, EXECUTOR);
+    }
+
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+}
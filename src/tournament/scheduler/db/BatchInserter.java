@@ -0,0 +1,69 @@
+package tournament.scheduler.db;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Inserts many rows as one write, so they share the transaction of the
+ * {@link WritePipeline} batch instead of syncing the file once per row. A
+ * row that violates a constraint is recorded as a failure and skipped;
+ * SQLite only rolls back the failing statement, so the rest of the rows
+ * still commit. Any other error fails the whole write.
+ */
+public final class BatchInserter {
+    // Primary result code for constraint violations (UNIQUE, NOT NULL, ...)
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    @FunctionalInterface
+    public interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface IdSetter<T> {
+        void setId(T item, int id);
+    }
+
+    private BatchInserter() {
+    }
+
+    // Runs on a connection whose transaction is managed by the caller
+    public static <T> BatchResult<T> insertAll(PooledConnection conn, String sql,
+                                               Collection<? extends T> items,
+                                               RowBinder<? super T> binder,
+                                               IdSetter<? super T> idSetter) throws SQLException {
+        int[] ids = new int[items.size()];
+        List<BatchResult.RowFailure<T>> failures = new ArrayList<>();
+        PreparedStatement pstmt = conn.prepareReturningKeys(sql);
+
+        // sqlite-jdbc runs batches row by row and only reports the last
+        // generated key, so rows are stepped individually to keep per-row
+        // ids and errors
+        int index = 0;
+        for (T item : items) {
+            ids[index] = -1;
+            try {
+                binder.bind(pstmt, item);
+                pstmt.executeUpdate();
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        ids[index] = rs.getInt(1);
+                        idSetter.setId(item, ids[index]);
+                    }
+                }
+            } catch (SQLException e) {
+                if (e.getErrorCode() != SQLITE_CONSTRAINT) {
+                    throw e;
+                }
+                failures.add(new BatchResult.RowFailure<>(index, item, e.getMessage()));
+            }
+            index++;
+        }
+
+        return new BatchResult<>(ids, failures);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package tournament.scheduler.db;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch insert: the generated id for every input row (in input
+ * order, {@code -1} for rejected rows) and the rows that violated a
+ * constraint.
+ */
+public final class BatchResult<T> {
+    private final int[] ids;
+    private final List<RowFailure<T>> failures;
+
+    BatchResult(int[] ids, List<RowFailure<T>> failures) {
+        this.ids = ids;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public int[] getIds() {
+        return ids.clone();
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public int getInsertedCount() {
+        return ids.length - failures.size();
+    }
+
+    public List<RowFailure<T>> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public static final class RowFailure<T> {
+        private final int index;
+        private final T item;
+        private final String message;
+
+        RowFailure(int index, T item, String message) {
+            this.index = index;
+            this.item = item;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + index + " (" + item + "): " + message;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package tournament.scheduler.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small pool of long-lived SQLite connections, shared by every manager that
+ * talks to the same database URL. Each connection keeps its own cache of
+ * prepared statements, so repeated calls skip both the file open and the
+ * SQL parse. New connections are configured with the provider's
+ * {@link StorageProfile}. Mutations go through the provider's
+ * {@link WritePipeline}, so each database has a single writer.
+ */
+public final class ConnectionProvider {
+    public static final String DEFAULT_URL = "jdbc:sqlite:tournament.db";
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private static final Map<String, ConnectionProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            System.err.println("Error loading SQLite JDBC driver: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final String url;
+    private final StorageProfile profile;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+    private WritePipeline writes;
+
+    // Counters
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder connectionOpenNanos = new LongAdder();
+    private final LongAdder statementsPrepared = new LongAdder();
+    private final LongAdder statementPrepareNanos = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder acquisitions = new LongAdder();
+
+    private ConnectionProvider(String url, StorageProfile profile, int poolSize) {
+        this.url = url;
+        this.profile = profile;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    // Uses the profile selected through the tournament.db.profile system property
+    public static ConnectionProvider forUrl(String url) {
+        return forUrl(url, StorageProfile.fromSystemProperty());
+    }
+
+    // The profile only applies when this call creates the provider for the URL
+    public static ConnectionProvider forUrl(String url, StorageProfile profile) {
+        return PROVIDERS.compute(url, (key, existing) ->
+            existing == null || existing.closed ? new ConnectionProvider(key, profile, DEFAULT_POOL_SIZE) : existing);
+    }
+
+    public static void closeAll() {
+        for (ConnectionProvider provider : PROVIDERS.values()) {
+            provider.close();
+        }
+        PROVIDERS.clear();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public StorageProfile getProfile() {
+        return profile;
+    }
+
+    // Started on first use; closed with the provider
+    public synchronized WritePipeline writes() {
+        if (writes == null) {
+            writes = new WritePipeline(this, WritePipeline.DEFAULT_QUEUE_CAPACITY, WritePipeline.DEFAULT_MAX_BATCH);
+        }
+        return writes;
+    }
+
+    /**
+     * Borrows a connection, blocking while all pooled connections are in use.
+     * Use it in try-with-resources so it is handed back.
+     */
+    public PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection provider for " + url + " is closed");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        acquisitions.increment();
+
+        PooledConnection pooled = idle.pollFirst();
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            return open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            profile.apply(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connectionsOpened.increment();
+        connectionOpenNanos.add(System.nanoTime() - start);
+        return new PooledConnection(this, connection);
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            if (!closed && pooled.reset()) {
+                idle.offerFirst(pooled);
+            } else {
+                pooled.closePhysically();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void close() {
+        // Queued writes are committed before the connections go away
+        WritePipeline pipeline;
+        synchronized (this) {
+            pipeline = writes;
+        }
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysically();
+        }
+    }
+
+    void recordStatementPrepared(long nanos) {
+        statementsPrepared.increment();
+        statementPrepareNanos.add(nanos);
+    }
+
+    void recordStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getConnectionOpenNanos() {
+        return connectionOpenNanos.sum();
+    }
+
+    public long getStatementsPrepared() {
+        return statementsPrepared.sum();
+    }
+
+    public long getStatementPrepareNanos() {
+        return statementPrepareNanos.sum();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s]: %d connections opened (%.2f ms), %d statements prepared (%.2f ms), "
+                + "%d statement cache hits, %d acquisitions",
+            url, profile, getConnectionsOpened(), getConnectionOpenNanos() / 1e6,
+            getStatementsPrepared(), getStatementPrepareNanos() / 1e6,
+            getStatementCacheHits(), getAcquisitions());
+    }
+}
@@ -0,0 +1,35 @@
+package tournament.scheduler.db;
+
+/**
+ * One ordered schema change. Versions must be strictly increasing; once a
+ * migration has shipped its statements must never be edited, only followed
+ * by a new migration.
+ */
+public final class Migration {
+    private final int version;
+    private final String description;
+    private final String[] statements;
+
+    public Migration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = statements;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    String[] getStatements() {
+        return statements;
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
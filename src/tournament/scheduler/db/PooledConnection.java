@@ -0,0 +1,118 @@
+package tournament.scheduler.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A connection borrowed from a {@link ConnectionProvider}. Closing it hands
+ * the connection back to the pool instead of closing the database file.
+ *
+ * <p>Statements returned by {@link #prepare(String)} are cached per
+ * connection and must not be closed by the caller; only their result sets
+ * should be closed.
+ */
+public final class PooledConnection implements AutoCloseable {
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private final ConnectionProvider provider;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, PreparedStatement> keyStatements = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean broken;
+
+    PooledConnection(ConnectionProvider provider, Connection connection) {
+        this.provider = provider;
+        this.connection = connection;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return cached(statements, sql, false);
+    }
+
+    // Same as prepare, but the statement reports generated keys
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+        return cached(keyStatements, sql, true);
+    }
+
+    private PreparedStatement cached(Map<String, PreparedStatement> cache, String sql,
+                                     boolean returnKeys) throws SQLException {
+        PreparedStatement pstmt = cache.get(sql);
+        if (pstmt != null) {
+            provider.recordStatementCacheHit();
+            return pstmt;
+        }
+
+        long start = System.nanoTime();
+        try {
+            pstmt = returnKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        } catch (SQLException e) {
+            broken = !connection.isValid(0);
+            throw e;
+        }
+        provider.recordStatementPrepared(System.nanoTime() - start);
+
+        cache.put(sql, pstmt);
+        if (cache.size() > STATEMENT_CACHE_SIZE) {
+            Iterator<PreparedStatement> eldest = cache.values().iterator();
+            closeQuietly(eldest.next());
+            eldest.remove();
+        }
+        return pstmt;
+    }
+
+    // Leaves the connection in autocommit mode for the next borrower
+    boolean reset() {
+        if (broken) {
+            return false;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return !connection.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void closePhysically() {
+        for (PreparedStatement pstmt : statements.values()) {
+            closeQuietly(pstmt);
+        }
+        for (PreparedStatement pstmt : keyStatements.values()) {
+            closeQuietly(pstmt);
+        }
+        statements.clear();
+        keyStatements.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(Statement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // Statement is being discarded anyway
+        }
+    }
+
+    @Override
+    public void close() {
+        provider.release(this);
+    }
+}
@@ -0,0 +1,157 @@
+package tournament.scheduler.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Brings a database up to the latest schema version. Applied versions are
+ * recorded in {@code schema_version}; each database URL is checked once per
+ * process, so opening another window does not touch the schema again.
+ */
+public final class SchemaMigrator {
+    // Append new migrations at the end; never edit one that has shipped
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Create teams table", """
+            CREATE TABLE IF NOT EXISTS teams (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL UNIQUE
+            )
+        """),
+        new Migration(2, "Create countries and leagues tables", """
+            CREATE TABLE IF NOT EXISTS countries (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                iso_code TEXT UNIQUE NOT NULL,
+                name TEXT UNIQUE NOT NULL
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS leagues (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                country_code TEXT NOT NULL,
+                name TEXT NOT NULL,
+                hierarchy_level INTEGER NOT NULL,
+                UNIQUE(country_code, name),
+                FOREIGN KEY(country_code) REFERENCES countries(iso_code)
+            )
+        """),
+        // Covering indexes for keyset-paginated table pages
+        new Migration(3, "Add covering indexes for paged league and country lists",
+            "CREATE INDEX IF NOT EXISTS idx_leagues_page ON leagues(country_code, hierarchy_level, id, name)",
+            "CREATE INDEX IF NOT EXISTS idx_countries_page ON countries(name, iso_code)"),
+        // Persisted schedules; teams are stored per season by their index in the schedule
+        new Migration(4, "Create seasons, season_teams and matches tables", """
+            CREATE TABLE IF NOT EXISTS seasons (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                league_id INTEGER REFERENCES leagues(id) ON DELETE CASCADE,
+                team_count INTEGER NOT NULL,
+                legs INTEGER NOT NULL,
+                created_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS season_teams (
+                season_id INTEGER NOT NULL REFERENCES seasons(id) ON DELETE CASCADE,
+                team_index INTEGER NOT NULL,
+                team_id INTEGER,
+                name TEXT NOT NULL,
+                PRIMARY KEY (season_id, team_index)
+            ) WITHOUT ROWID
+        """, """
+            CREATE TABLE IF NOT EXISTS matches (
+                season_id INTEGER NOT NULL REFERENCES seasons(id) ON DELETE CASCADE,
+                round INTEGER NOT NULL,
+                match_no INTEGER NOT NULL,
+                home_index INTEGER NOT NULL,
+                away_index INTEGER NOT NULL,
+                PRIMARY KEY (season_id, round, match_no)
+            ) WITHOUT ROWID
+        """,
+            "CREATE INDEX IF NOT EXISTS idx_seasons_league ON seasons(league_id)",
+            "CREATE INDEX IF NOT EXISTS idx_matches_home ON matches(season_id, home_index, round, away_index)",
+            "CREATE INDEX IF NOT EXISTS idx_matches_away ON matches(season_id, away_index, round, home_index)"),
+        // Scores stay NULL until the match is played
+        new Migration(5, "Add match results",
+            "ALTER TABLE matches ADD COLUMN home_goals INTEGER",
+            "ALTER TABLE matches ADD COLUMN away_goals INTEGER"),
+        // SCHEDULED, POSTPONED to played_round, or CANCELLED
+        new Migration(6, "Add match status",
+            "ALTER TABLE matches ADD COLUMN status TEXT NOT NULL DEFAULT 'SCHEDULED'",
+            "ALTER TABLE matches ADD COLUMN played_round INTEGER"),
+        // team_id was never written; season teams are identified by their index and name
+        new Migration(7, "Drop unused season_teams.team_id",
+            "ALTER TABLE season_teams DROP COLUMN team_id")
+    );
+
+    private static final Set<String> MIGRATED_URLS = ConcurrentHashMap.newKeySet();
+
+    private SchemaMigrator() {
+    }
+
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    public static void migrate(ConnectionProvider connections) {
+        if (MIGRATED_URLS.contains(connections.getUrl())) {
+            return;
+        }
+        synchronized (SchemaMigrator.class) {
+            if (MIGRATED_URLS.contains(connections.getUrl())) {
+                return;
+            }
+            try (PooledConnection conn = connections.acquire()) {
+                applyPending(conn.getConnection());
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to migrate database schema", e);
+            }
+            MIGRATED_URLS.add(connections.getUrl());
+        }
+    }
+
+    private static void applyPending(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+
+            // Read-only check first so an up-to-date database never takes the write lock
+            if (currentVersion(stmt) >= getLatestVersion()) {
+                return;
+            }
+
+            // Another process may be migrating too; re-check under the write lock
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                int current = currentVersion(stmt);
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.getVersion() <= current) {
+                        continue;
+                    }
+                    for (String sql : migration.getStatements()) {
+                        stmt.execute(sql);
+                    }
+                    stmt.executeUpdate("INSERT INTO schema_version (version, description) VALUES ("
+                        + migration.getVersion() + ", '" + migration.getDescription().replace("'", "''") + "')");
+                }
+                stmt.execute("COMMIT");
+            } catch (SQLException e) {
+                stmt.execute("ROLLBACK");
+                throw e;
+            }
+        }
+    }
+
+    private static int currentVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package tournament.scheduler.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * SQLite settings applied to every pooled connection when it is opened.
+ * Both profiles use WAL journaling so readers in one window never block a
+ * writer in another; they differ in how hard SQLite syncs and how much
+ * memory it may use.
+ *
+ * <p>Select with {@code -Dtournament.db.profile=durable|fast}; the default
+ * is {@link #DURABLE}.
+ */
+public enum StorageProfile {
+    // Every commit is synced; survives power loss
+    DURABLE("FULL", 0, 8 * 1024),
+    // WAL is synced at checkpoints only; a power cut may lose the last commits but never corrupts
+    FAST("NORMAL", 256L * 1024 * 1024, 64 * 1024);
+
+    public static final String PROPERTY = "tournament.db.profile";
+
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSizeKb;
+
+    StorageProfile(String synchronous, long mmapSize, int cacheSizeKb) {
+        this.synchronous = synchronous;
+        this.mmapSize = mmapSize;
+        this.cacheSizeKb = cacheSizeKb;
+    }
+
+    public static StorageProfile fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return DURABLE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + value + "', using " + DURABLE);
+            return DURABLE;
+        }
+    }
+
+    public void apply(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            // Negative cache_size is in KiB rather than pages
+            stmt.execute("PRAGMA cache_size = -" + cacheSizeKb);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package tournament.scheduler.db;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single writer for one database. Mutations are queued and applied by one
+ * thread, which drains whatever is waiting and commits it as one transaction,
+ * so concurrent writers share an fsync instead of fighting over the SQLite
+ * write lock. Each write runs in its own savepoint: a failing write is rolled
+ * back and reported to its caller while the rest of the batch commits.
+ *
+ * <p>A busy database (another process holding the lock past the busy
+ * timeout) rolls back the batch and retries it with exponential backoff, so
+ * writes must be safe to run again. Futures complete on the writer thread
+ * in commit order; dependent stages must not block on further writes.
+ */
+public final class WritePipeline {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private static final int MAX_BUSY_RETRIES = 8;
+    private static final long INITIAL_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 1000;
+    // Primary result codes; extended codes such as SQLITE_BUSY_SNAPSHOT share the low byte
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    @FunctionalInterface
+    public interface Write<T> {
+        T apply(PooledConnection conn) throws SQLException;
+    }
+
+    private record Pending<T>(Write<T> write, CompletableFuture<T> future) {
+        @SuppressWarnings("unchecked")
+        void complete(Object result) {
+            future.complete((T) result);
+        }
+    }
+
+    // Queued by close(); the writer commits what came before it and exits
+    private static final Pending<Object> STOP = new Pending<>(null, null);
+    private static final ThreadLocal<Boolean> ON_WRITER = ThreadLocal.withInitial(() -> false);
+
+    private final ConnectionProvider connections;
+    private final BlockingQueue<Pending<?>> queue;
+    private final int maxBatch;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Counters
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder busyRetries = new LongAdder();
+
+    WritePipeline(ConnectionProvider connections, int queueCapacity, int maxBatch) {
+        this.connections = connections;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.writer = Thread.ofPlatform().daemon().name("db-writer").unstarted(this::drain);
+        writer.start();
+    }
+
+    /**
+     * Queues a write, blocking while the queue is full. The future completes
+     * with the write's result once its batch has committed.
+     */
+    public <T> CompletableFuture<T> submit(Write<T> write) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new SQLException("Write pipeline for " + connections.getUrl() + " is closed"));
+            return future;
+        }
+        Pending<T> pending = new Pending<>(write, future);
+        if (Thread.currentThread() == writer) {
+            // Waiting for space here would wait for ourselves
+            if (!queue.offer(pending)) {
+                future.completeExceptionally(new IllegalStateException("Write queue is full"));
+            }
+            return future;
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new SQLException("Interrupted while queueing a write", e));
+        }
+        return future;
+    }
+
+    /**
+     * Waits for a queued write and returns its result, rethrowing runtime
+     * failures as they are and wrapping checked ones.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        if (ON_WRITER.get()) {
+            throw new IllegalStateException("Synchronous writes cannot be made from the writer thread");
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+    }
+
+    private void drain() {
+        ON_WRITER.set(true);
+        List<Pending<?>> batch = new ArrayList<>(maxBatch);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            stop = batch.removeIf(pending -> pending == STOP);
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending<?>> batch) {
+        Object[] results = new Object[batch.size()];
+        Throwable[] failures = new Throwable[batch.size()];
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                runBatch(batch, results, failures);
+                break;
+            } catch (RuntimeException e) {
+                // Failed outside any single write; the writer must survive it
+                for (Pending<?> pending : batch) {
+                    pending.future().completeExceptionally(e);
+                }
+                return;
+            } catch (SQLException e) {
+                if (!isBusy(e) || attempt == MAX_BUSY_RETRIES) {
+                    for (Pending<?> pending : batch) {
+                        pending.future().completeExceptionally(e);
+                    }
+                    return;
+                }
+                busyRetries.increment();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+                } catch (InterruptedException ignored) {
+                    // Nothing interrupts the writer; retry right away
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+        batches.increment();
+        writes.add(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                batch.get(i).future().completeExceptionally(failures[i]);
+            } else {
+                batch.get(i).complete(results[i]);
+            }
+        }
+    }
+
+    private void runBatch(List<Pending<?>> batch, Object[] results, Throwable[] failures) throws SQLException {
+        try (PooledConnection conn = connections.acquire();
+             Statement stmt = conn.getConnection().createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    results[i] = null;
+                    failures[i] = null;
+                    stmt.execute("SAVEPOINT write");
+                    try {
+                        results[i] = batch.get(i).write().apply(conn);
+                    } catch (SQLException e) {
+                        if (isBusy(e)) {
+                            throw e;
+                        }
+                        failures[i] = e;
+                    } catch (RuntimeException e) {
+                        failures[i] = e;
+                    }
+                    if (failures[i] != null) {
+                        stmt.execute("ROLLBACK TO write");
+                    }
+                    stmt.execute("RELEASE write");
+                }
+                stmt.execute("COMMIT");
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    stmt.execute("ROLLBACK");
+                } catch (SQLException ignored) {
+                    // No transaction left to roll back
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static boolean isBusy(SQLException e) {
+        int code = e.getErrorCode() & 0xFF;
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED;
+    }
+
+    // Stops taking writes and waits until the queued ones are committed
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Writes that raced with close and were queued after the stop marker
+        Pending<?> pending;
+        while ((pending = queue.poll()) != null) {
+            if (pending != STOP) {
+                pending.future().completeExceptionally(
+                    new SQLException("Write pipeline for " + connections.getUrl() + " is closed"));
+            }
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getBusyRetryCount() {
+        return busyRetries.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package tournament.scheduler.engine;
+
+/**
+ * Group phase feeding a {@link KnockoutBracket}. Entrants 0..n-1 (0 is the
+ * top seed) are dealt into groups in snake order by pot, so every group gets
+ * one entrant of each strength band and sizes differ by at most one. Each
+ * group plays a round robin taken from the shared {@link SchedulePatternCache};
+ * its team indexes are local to the group and map to entrants through
+ * {@link #member(int, int)}.
+ *
+ * <p>Members are kept in one flat array with per-group offsets.
+ */
+public final class GroupStage {
+    private final int entrantCount;
+    private final int groupCount;
+    private final int legs;
+    private final int[] groupStart;
+    private final int[] members;
+    private final RoundRobinSchedule[] schedules;
+
+    public GroupStage(int entrantCount, int groupCount, int legs) {
+        if (groupCount < 1) {
+            throw new IllegalArgumentException("Group count must be positive, got " + groupCount);
+        }
+        if (entrantCount < 2 * groupCount) {
+            throw new IllegalArgumentException("Every group needs at least 2 entrants: "
+                + entrantCount + " entrants for " + groupCount + " groups");
+        }
+        this.entrantCount = entrantCount;
+        this.groupCount = groupCount;
+        this.legs = legs;
+
+        int[] groupOf = new int[entrantCount];
+        this.groupStart = new int[groupCount + 1];
+        for (int seed = 0; seed < entrantCount; seed++) {
+            int pot = seed / groupCount;
+            int slot = seed % groupCount;
+            int group = pot % 2 == 0 ? slot : groupCount - 1 - slot;
+            groupOf[seed] = group;
+            groupStart[group + 1]++;
+        }
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+        this.members = new int[entrantCount];
+        int[] fill = groupStart.clone();
+        for (int seed = 0; seed < entrantCount; seed++) {
+            members[fill[groupOf[seed]]++] = seed;
+        }
+
+        this.schedules = new RoundRobinSchedule[groupCount];
+        SchedulePatternCache cache = SchedulePatternCache.shared();
+        for (int g = 0; g < groupCount; g++) {
+            schedules[g] = cache.get(getGroupSize(g), legs);
+        }
+    }
+
+    public int getEntrantCount() {
+        return entrantCount;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    public int getLegs() {
+        return legs;
+    }
+
+    public int getGroupSize(int group) {
+        return groupStart[group + 1] - groupStart[group];
+    }
+
+    // Entrant at a group-local team index; members are listed by seed
+    public int member(int group, int index) {
+        if (index < 0 || index >= getGroupSize(group)) {
+            throw new IndexOutOfBoundsException("Group " + group + " has no member " + index);
+        }
+        return members[groupStart[group] + index];
+    }
+
+    // Round robin of one group, in group-local team indexes
+    public RoundRobinSchedule schedule(int group) {
+        return schedules[group];
+    }
+
+    /**
+     * Seeds the knockout from the final group tables. {@code finishingOrder[g]}
+     * lists the entrants of group {@code g} from first place down; the top
+     * {@code qualifiersPerGroup} of each go through. Group winners are seeded
+     * above runners-up and so on, which pairs the winner of a group with a
+     * lower-placed entrant of another group in the first round.
+     */
+    public KnockoutBracket knockout(int[][] finishingOrder, int qualifiersPerGroup) {
+        if (finishingOrder.length != groupCount) {
+            throw new IllegalArgumentException("Expected " + groupCount + " group tables, got "
+                + finishingOrder.length);
+        }
+        for (int g = 0; g < groupCount; g++) {
+            if (qualifiersPerGroup < 1 || qualifiersPerGroup > finishingOrder[g].length
+                || finishingOrder[g].length != getGroupSize(g)) {
+                throw new IllegalArgumentException("Group " + g + " cannot send " + qualifiersPerGroup
+                    + " qualifiers from a table of " + finishingOrder[g].length);
+            }
+        }
+        int qualifierCount = groupCount * qualifiersPerGroup;
+        int[] seeds = new int[qualifierCount];
+        int[] groups = new int[qualifierCount];
+        int next = 0;
+        for (int place = 0; place < qualifiersPerGroup; place++) {
+            for (int g = 0; g < groupCount; g++) {
+                groups[next] = g;
+                seeds[next++] = finishingOrder[g][place];
+            }
+        }
+        separateGroupRematches(seeds, groups);
+        return KnockoutBracket.seeded(seeds);
+    }
+
+    /**
+     * Seed {@code s} opens against seed {@code size - 1 - s}. When both come
+     * from the same group, the lower seed trades places with an entrant of
+     * the same finishing place from another group, provided the trade does
+     * not create a new first-round rematch.
+     */
+    private void separateGroupRematches(int[] seeds, int[] groups) {
+        int count = seeds.length;
+        int size = Integer.highestOneBit(count - 1) << 1;
+        for (int s = 0; s < count; s++) {
+            int opponent = size - 1 - s;
+            if (opponent <= s || opponent >= count || groups[s] != groups[opponent]) {
+                continue;
+            }
+            int bandStart = opponent / groupCount * groupCount;
+            int bandEnd = Math.min(bandStart + groupCount, count);
+            for (int t = bandStart; t < bandEnd; t++) {
+                int other = size - 1 - t;
+                if (t == opponent || groups[t] == groups[s]
+                    || (other < count && other != opponent && groups[other] == groups[opponent])) {
+                    continue;
+                }
+                int seed = seeds[t];
+                int group = groups[t];
+                seeds[t] = seeds[opponent];
+                groups[t] = groups[opponent];
+                seeds[opponent] = seed;
+                groups[opponent] = group;
+                break;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package tournament.scheduler.engine;
+
+/**
+ * Single-elimination bracket stored as an implicit binary tree in one
+ * {@code int} array: node 0 is the final, the children of node {@code i} are
+ * {@code 2i + 1} and {@code 2i + 2}, and the leaves hold the entrants. Every
+ * inner node is a match whose value is its winner, so a bracket of a million
+ * entrants is two million ints and no per-node objects.
+ *
+ * <p>The field is padded to the next power of two. Seeds are placed so that
+ * seeds 1 and 2 can only meet in the final, 1 to 4 not before the semi
+ * finals, and so on; the padding becomes byes for the top seeds, who
+ * advance to round 2 without playing.
+ *
+ * <p>Rounds are numbered from 1 (the first round) to {@link #getRoundCount()}
+ * (the final). Matches of a round are contiguous node indexes, listed from
+ * the top of the bracket down.
+ */
+public final class KnockoutBracket {
+    // Winner not known yet
+    public static final int UNDECIDED = -1;
+    // Empty slot of a padded field; the opponent advances without playing
+    public static final int BYE = -2;
+
+    private final int entrantCount;
+    private final int size;
+    private final int rounds;
+    private final int[] nodes;
+
+    private KnockoutBracket(int[] entrantsInSeedOrder) {
+        this.entrantCount = entrantsInSeedOrder.length;
+        if (entrantCount < 2) {
+            throw new IllegalArgumentException("At least 2 entrants are required, got " + entrantCount);
+        }
+        this.size = Integer.highestOneBit(entrantCount - 1) << 1;
+        this.rounds = Integer.numberOfTrailingZeros(size);
+        this.nodes = new int[2 * size - 1];
+
+        int[] seeds = seedOrder(size);
+        for (int leaf = 0; leaf < size; leaf++) {
+            int seed = seeds[leaf];
+            nodes[size - 1 + leaf] = seed < entrantCount ? entrantsInSeedOrder[seed] : BYE;
+        }
+        for (int node = size - 2; node >= 0; node--) {
+            int home = nodes[2 * node + 1];
+            int away = nodes[2 * node + 2];
+            nodes[node] = home == BYE ? away : away == BYE ? home : UNDECIDED;
+        }
+    }
+
+    // Entrants 0..n-1, where 0 is the top seed
+    public static KnockoutBracket seeded(int entrantCount) {
+        int[] entrants = new int[entrantCount];
+        for (int i = 0; i < entrantCount; i++) {
+            entrants[i] = i;
+        }
+        return new KnockoutBracket(entrants);
+    }
+
+    // Entrant ids listed from the top seed down
+    public static KnockoutBracket seeded(int[] entrantsInSeedOrder) {
+        return new KnockoutBracket(entrantsInSeedOrder.clone());
+    }
+
+    /**
+     * Leaf position of every seed, e.g. 0, 7, 3, 4, 1, 6, 2, 5 for eight:
+     * each doubling pairs seed {@code s} with {@code 2k - 1 - s}.
+     */
+    static int[] seedOrder(int size) {
+        int[] order = new int[size];
+        int[] next = new int[size];
+        int count = 1;
+        while (count < size) {
+            for (int i = 0; i < count; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = 2 * count - 1 - order[i];
+            }
+            int[] swap = order;
+            order = next;
+            next = swap;
+            count *= 2;
+        }
+        return order;
+    }
+
+    public int getEntrantCount() {
+        return entrantCount;
+    }
+
+    // Field size after padding with byes
+    public int getBracketSize() {
+        return size;
+    }
+
+    public int getRoundCount() {
+        return rounds;
+    }
+
+    public int getMatchCount(int round) {
+        checkRound(round);
+        return size >> round;
+    }
+
+    public int firstMatchOfRound(int round) {
+        checkRound(round);
+        return (size >> round) - 1;
+    }
+
+    public int round(int match) {
+        return rounds - (31 - Integer.numberOfLeadingZeros(match + 1));
+    }
+
+    // Entrant, UNDECIDED until the feeding match is played, or BYE
+    public int home(int match) {
+        return nodes[2 * match + 1];
+    }
+
+    public int away(int match) {
+        return nodes[2 * match + 2];
+    }
+
+    public int getWinner(int match) {
+        return nodes[match];
+    }
+
+    // Both sides are known and the match has no result yet
+    public boolean isPlayable(int match) {
+        return nodes[match] == UNDECIDED && home(match) >= 0 && away(match) >= 0;
+    }
+
+    // Champion, or UNDECIDED while the final is open
+    public int getChampion() {
+        return nodes[0];
+    }
+
+    /**
+     * Records the result of a playable match. The winner moves up to the
+     * next match; returns that match, or -1 after the final.
+     */
+    public int recordResult(int match, boolean homeWins) {
+        if (match < 0 || match >= size - 1) {
+            throw new IllegalArgumentException("No match " + match);
+        }
+        if (!isPlayable(match)) {
+            throw new IllegalStateException("Match " + match + " is not ready to be played");
+        }
+        nodes[match] = homeWins ? home(match) : away(match);
+        return match == 0 ? -1 : (match - 1) / 2;
+    }
+
+    private void checkRound(int round) {
+        if (round < 1 || round > rounds) {
+            throw new IllegalArgumentException("Round " + round + " is outside 1.." + rounds);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package tournament.scheduler.engine;
+
+/**
+ * Round robin generator based on the circle method. Teams are plain indices
+ * {@code 0..teamCount-1}; callers map them back to names or ids.
+ *
+ * <p>For an odd team count a phantom team is added to the fixed slot of the
+ * circle, so the team paired with it in a round has a bye and no match is
+ * emitted. Every further leg repeats the first with home and away swapped.
+ */
+public final class RoundRobinEngine {
+
+    private RoundRobinEngine() {
+    }
+
+    public static int slotCount(int teamCount) {
+        return teamCount + (teamCount & 1);
+    }
+
+    public static int roundsPerLeg(int teamCount) {
+        return slotCount(teamCount) - 1;
+    }
+
+    public static int matchesPerRound(int teamCount) {
+        return teamCount / 2;
+    }
+
+    public static int matchCount(int teamCount, int legs) {
+        return roundsPerLeg(teamCount) * matchesPerRound(teamCount) * legs;
+    }
+
+    public static RoundRobinSchedule single(int teamCount) {
+        return generate(teamCount, 1);
+    }
+
+    public static RoundRobinSchedule doubleRoundRobin(int teamCount) {
+        return generate(teamCount, 2);
+    }
+
+    public static RoundRobinSchedule generate(int teamCount, int legs) {
+        validate(teamCount, legs);
+        int matches = matchCount(teamCount, legs);
+        int[] home = new int[matches];
+        int[] away = new int[matches];
+        generate(teamCount, legs, home, away, 0);
+        return new RoundRobinSchedule(teamCount, legs, roundsPerLeg(teamCount),
+                matchesPerRound(teamCount), home, away);
+    }
+
+    /**
+     * Writes a k-fold round robin into caller-owned arrays starting at
+     * {@code offset}, so repeated generation allocates nothing.
+     *
+     * @return the number of matches written
+     */
+    public static int generate(int teamCount, int legs, int[] home, int[] away, int offset) {
+        validate(teamCount, legs);
+        int matches = matchCount(teamCount, legs);
+        if (offset < 0 || home.length - offset < matches || away.length - offset < matches) {
+            throw new IllegalArgumentException("Output arrays too small for " + matches + " matches");
+        }
+
+        int rounds = roundsPerLeg(teamCount);
+        int perRound = matchesPerRound(teamCount);
+        int pos = offset;
+        for (int round = 0; round < rounds; round++) {
+            pairRound(teamCount, round, home, away, pos);
+            pos += perRound;
+        }
+
+        // Later legs repeat the first one, mirrored on every other leg
+        int legSize = pos - offset;
+        for (int leg = 1; leg < legs; leg++) {
+            boolean mirrored = (leg & 1) == 1;
+            System.arraycopy(mirrored ? away : home, offset, home, offset + leg * legSize, legSize);
+            System.arraycopy(mirrored ? home : away, offset, away, offset + leg * legSize, legSize);
+        }
+        return matches;
+    }
+
+    /**
+     * Writes the pairings of one round of the first leg (0-based) at
+     * {@code offset}. Exactly {@link #matchesPerRound(int)} matches are written.
+     */
+    public static void pairRound(int teamCount, int round, int[] home, int[] away, int offset) {
+        int slots = slotCount(teamCount);
+        int rotating = slots - 1;
+        int pos = offset;
+
+        // The last slot stays fixed while the others rotate around it;
+        // with an odd team count it is the phantom team and gives a bye
+        if (slots == teamCount) {
+            int team = round % rotating;
+            if ((round & 1) == 0) {
+                home[pos] = team;
+                away[pos] = rotating;
+            } else {
+                home[pos] = rotating;
+                away[pos] = team;
+            }
+            pos++;
+        }
+
+        for (int i = 1; i < slots / 2; i++) {
+            int first = (round + i) % rotating;
+            int second = (round + rotating - i) % rotating;
+            if ((i & 1) == 0) {
+                home[pos] = first;
+                away[pos] = second;
+            } else {
+                home[pos] = second;
+                away[pos] = first;
+            }
+            pos++;
+        }
+    }
+
+    // Team sitting out a 1-based round, or -1 when the team count is even
+    public static int byeTeam(int teamCount, int round) {
+        if ((teamCount & 1) == 0) {
+            return -1;
+        }
+        return (round - 1) % roundsPerLeg(teamCount);
+    }
+
+    private static void validate(int teamCount, int legs) {
+        if (teamCount < 2) {
+            throw new IllegalArgumentException("At least 2 teams are required, got " + teamCount);
+        }
+        if (legs < 1) {
+            throw new IllegalArgumentException("At least one leg is required, got " + legs);
+        }
+        if ((long) roundsPerLeg(teamCount) * matchesPerRound(teamCount) * legs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Schedule too large for " + teamCount + " teams and " + legs + " legs");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package tournament.scheduler.engine;
+
+/**
+ * A generated round robin held as two parallel index arrays. Match {@code m}
+ * is {@code home[m]} vs {@code away[m]}; matches are stored round by round, so
+ * the round of a match is derived from its position instead of being stored.
+ */
+public final class RoundRobinSchedule {
+    private final int teamCount;
+    private final int legs;
+    private final int roundsPerLeg;
+    private final int matchesPerRound;
+    private final int[] home;
+    private final int[] away;
+
+    RoundRobinSchedule(int teamCount, int legs, int roundsPerLeg, int matchesPerRound, int[] home, int[] away) {
+        this.teamCount = teamCount;
+        this.legs = legs;
+        this.roundsPerLeg = roundsPerLeg;
+        this.matchesPerRound = matchesPerRound;
+        this.home = home;
+        this.away = away;
+    }
+
+    /**
+     * Wraps stored pairings, e.g. a season loaded from the database. The
+     * arrays must hold {@code matchesPerRound} matches per round, in round
+     * order.
+     */
+    public static RoundRobinSchedule of(int teamCount, int legs, int matchesPerRound, int[] home, int[] away) {
+        if (home.length != away.length || matchesPerRound <= 0 || home.length % matchesPerRound != 0
+                || (home.length / matchesPerRound) % legs != 0) {
+            throw new IllegalArgumentException("Pairings do not form " + legs + " leg(s) of "
+                + matchesPerRound + " matches per round");
+        }
+        int roundsPerLeg = home.length / matchesPerRound / legs;
+        return new RoundRobinSchedule(teamCount, legs, roundsPerLeg, matchesPerRound, home, away);
+    }
+
+    public int getTeamCount() {
+        return teamCount;
+    }
+
+    public int getLegs() {
+        return legs;
+    }
+
+    public int getRoundsPerLeg() {
+        return roundsPerLeg;
+    }
+
+    public int getRoundCount() {
+        return roundsPerLeg * legs;
+    }
+
+    public int getMatchesPerRound() {
+        return matchesPerRound;
+    }
+
+    public int getMatchCount() {
+        return home.length;
+    }
+
+    public int home(int match) {
+        return home[match];
+    }
+
+    public int away(int match) {
+        return away[match];
+    }
+
+    // Rounds are 1-based, matching the numbering shown to users
+    public int round(int match) {
+        return match / matchesPerRound + 1;
+    }
+
+    public int firstMatchOfRound(int round) {
+        return (round - 1) * matchesPerRound;
+    }
+
+    // Team sitting out the given round, or -1 when the team count is even.
+    // Derived from the pairings, so it also holds for reordered rounds
+    public int byeTeam(int round) {
+        if ((teamCount & 1) == 0) {
+            return -1;
+        }
+        long missing = (long) teamCount * (teamCount - 1) / 2;
+        int first = firstMatchOfRound(round);
+        for (int m = first; m < first + matchesPerRound; m++) {
+            missing -= home[m] + away[m];
+        }
+        return (int) missing;
+    }
+}
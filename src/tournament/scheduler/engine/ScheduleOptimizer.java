@@ -0,0 +1,528 @@
+package tournament.scheduler.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Improves a round robin by simulated annealing. A break is a team playing
+ * two consecutive rounds at home or two away; the carry-over value is the sum
+ * of squared carry-over counts (Russell), where team a carries over to team b
+ * whenever a team plays a and then b in the next round.
+ *
+ * <p>Three moves keep the schedule valid: swapping the venue of a pairing in
+ * every round it is played, which preserves the home/away balance between
+ * legs; swapping two rounds of the same leg, which lets the second half
+ * differ from a mirror of the first; and swapping the fixtures of two teams.
+ * Meeting the same opponent in two consecutive rounds is penalized heavily,
+ * so reordered legs do not produce back-to-back rematches.
+ *
+ * <p>Breaks come first: a move that would leave more breaks than the base
+ * schedule has is never accepted, so carry-over is only improved among
+ * schedules with at most the base break count. The weights trade the two
+ * below that ceiling.
+ *
+ * <p>Workers search independently from the same base schedule, each with a
+ * seed derived from {@link Options#seed()}; the lowest cost wins, ties going
+ * to the lower worker index. The result is therefore the same for a given
+ * seed, worker count and iteration limit, provided the time budget does not
+ * run out first. The budget is a safety cutoff, not part of the cooling
+ * schedule.
+ */
+public final class ScheduleOptimizer {
+    // Cost per team meeting the same opponent in consecutive rounds
+    private static final long REPEAT_WEIGHT = 1_000;
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+    private static final double END_TEMPERATURE = 0.05;
+    // Fixed rather than one per core, so a seed gives the same schedule on every machine
+    private static final int DEFAULT_WORKERS = 4;
+
+    public record Options(long seed, int workers, long maxIterations, Duration timeBudget,
+                          int breakWeight, int carryOverWeight) {
+        public Options {
+            if (workers < 1) {
+                throw new IllegalArgumentException("At least one worker is required, got " + workers);
+            }
+            if (maxIterations < 1) {
+                throw new IllegalArgumentException("Iterations must be positive, got " + maxIterations);
+            }
+            if (timeBudget.isNegative() || timeBudget.isZero()) {
+                throw new IllegalArgumentException("Time budget must be positive, got " + timeBudget);
+            }
+            if (breakWeight < 0 || carryOverWeight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+        }
+
+        // Four workers; breaks weigh ten times a unit of carry-over
+        public static Options defaults(long seed) {
+            return new Options(seed, DEFAULT_WORKERS, 1_000_000,
+                Duration.ofSeconds(2), 10, 1);
+        }
+
+        public Options withWorkers(int workers) {
+            return new Options(seed, workers, maxIterations, timeBudget, breakWeight, carryOverWeight);
+        }
+
+        public Options withMaxIterations(long maxIterations) {
+            return new Options(seed, workers, maxIterations, timeBudget, breakWeight, carryOverWeight);
+        }
+
+        public Options withTimeBudget(Duration timeBudget) {
+            return new Options(seed, workers, maxIterations, timeBudget, breakWeight, carryOverWeight);
+        }
+    }
+
+    public record Result(RoundRobinSchedule schedule, int breaks, long carryOverValue,
+                         long iterations, boolean timedOut, long elapsedNanos) {
+    }
+
+    private ScheduleOptimizer() {
+    }
+
+    public static Result optimize(RoundRobinSchedule base, Options options) {
+        long start = System.nanoTime();
+        long deadline = start + options.timeBudget().toNanos();
+
+        Search[] searches = new Search[options.workers()];
+        for (int w = 0; w < searches.length; w++) {
+            searches[w] = new Search(base, options, workerSeed(options.seed(), w));
+        }
+
+        if (searches.length == 1) {
+            searches[0].run(deadline);
+        } else {
+            try (ExecutorService pool = Executors.newFixedThreadPool(searches.length)) {
+                List<Future<?>> running = new ArrayList<>(searches.length);
+                for (Search search : searches) {
+                    running.add(pool.submit(() -> search.run(deadline)));
+                }
+                for (Future<?> future : running) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Optimization interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Optimization failed", e.getCause());
+            }
+        }
+
+        Search best = searches[0];
+        long iterations = 0;
+        boolean timedOut = false;
+        for (Search search : searches) {
+            if (search.bestCost < best.bestCost) {
+                best = search;
+            }
+            iterations += search.iterations;
+            timedOut |= search.timedOut;
+        }
+
+        RoundRobinSchedule schedule = best.bestSchedule();
+        return new Result(schedule, countBreaks(schedule), carryOverValue(schedule),
+            iterations, timedOut, System.nanoTime() - start);
+    }
+
+    public static int countBreaks(RoundRobinSchedule schedule) {
+        int n = schedule.getTeamCount();
+        // Venue in the previous round: 1 home, 0 away, -1 did not play
+        int[] lastVenue = new int[n];
+        int[] venue = new int[n];
+        Arrays.fill(lastVenue, -1);
+        int breaks = 0;
+        for (int round = 1; round <= schedule.getRoundCount(); round++) {
+            Arrays.fill(venue, -1);
+            int first = schedule.firstMatchOfRound(round);
+            for (int m = first; m < first + schedule.getMatchesPerRound(); m++) {
+                venue[schedule.home(m)] = 1;
+                venue[schedule.away(m)] = 0;
+            }
+            for (int team = 0; team < n; team++) {
+                if (venue[team] >= 0 && venue[team] == lastVenue[team]) {
+                    breaks++;
+                }
+            }
+            int[] swap = lastVenue;
+            lastVenue = venue;
+            venue = swap;
+        }
+        return breaks;
+    }
+
+    public static long carryOverValue(RoundRobinSchedule schedule) {
+        int n = schedule.getTeamCount();
+        int[] lastOpponent = new int[n];
+        int[] opponent = new int[n];
+        int[] carry = new int[n * n];
+        Arrays.fill(lastOpponent, -1);
+        long value = 0;
+        for (int round = 1; round <= schedule.getRoundCount(); round++) {
+            Arrays.fill(opponent, -1);
+            int first = schedule.firstMatchOfRound(round);
+            for (int m = first; m < first + schedule.getMatchesPerRound(); m++) {
+                opponent[schedule.home(m)] = schedule.away(m);
+                opponent[schedule.away(m)] = schedule.home(m);
+            }
+            for (int team = 0; team < n; team++) {
+                if (lastOpponent[team] >= 0 && opponent[team] >= 0) {
+                    int count = carry[lastOpponent[team] * n + opponent[team]]++;
+                    value += 2L * count + 1;
+                }
+            }
+            int[] swap = lastOpponent;
+            lastOpponent = opponent;
+            opponent = swap;
+        }
+        return value;
+    }
+
+    private static long workerSeed(long seed, int worker) {
+        return seed + worker * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * One annealing run over a grid of {@code rounds x teams}: the opponent
+     * of every team in every round slot (-1 for a bye) and whether it plays
+     * at home. Costs are kept up to date incrementally; a move only revisits
+     * the round boundaries and teams it changes.
+     */
+    private static final class Search {
+        private final Options options;
+        private final SplittableRandom random;
+        private final int n;
+        private final int legs;
+        private final int rounds;
+        private final int roundsPerLeg;
+        private final int matchesPerRound;
+
+        private final int[] opponent;
+        private final boolean[] atHome;
+        private final int[] carry;
+        private final int[] boundaries;
+        private final int[] teams = new int[6];
+
+        private long breaks;
+        // Break count of the base schedule; never exceeded
+        private final long breakLimit;
+        private long carryOver;
+        private long repeats;
+
+        private long bestCost;
+        private final int[] bestOpponent;
+        private final boolean[] bestAtHome;
+        private long iterations;
+        private boolean timedOut;
+
+        Search(RoundRobinSchedule base, Options options, long seed) {
+            this.options = options;
+            this.random = new SplittableRandom(seed);
+            this.n = base.getTeamCount();
+            this.legs = base.getLegs();
+            this.rounds = base.getRoundCount();
+            this.roundsPerLeg = base.getRoundsPerLeg();
+            this.matchesPerRound = base.getMatchesPerRound();
+
+            opponent = new int[rounds * n];
+            atHome = new boolean[rounds * n];
+            carry = new int[n * n];
+            // A venue flip touches two boundaries per leg, a round swap four
+            boundaries = new int[Math.max(4, 2 * legs)];
+            Arrays.fill(opponent, -1);
+            for (int slot = 0; slot < rounds; slot++) {
+                int first = base.firstMatchOfRound(slot + 1);
+                for (int m = first; m < first + matchesPerRound; m++) {
+                    int home = base.home(m);
+                    int away = base.away(m);
+                    opponent[slot * n + home] = away;
+                    opponent[slot * n + away] = home;
+                    atHome[slot * n + home] = true;
+                }
+            }
+            for (int boundary = 0; boundary < rounds - 1; boundary++) {
+                breaks += breaksAt(boundary);
+                for (int team = 0; team < n; team++) {
+                    updateTransition(boundary, team, 1);
+                }
+            }
+            breakLimit = breaks;
+            bestCost = cost();
+            bestOpponent = opponent.clone();
+            bestAtHome = atHome.clone();
+        }
+
+        void run(long deadline) {
+            long maxIterations = options.maxIterations();
+            // Hot enough to accept a few extra breaks early on
+            double temperature = Math.max(1.0, options.breakWeight() + 10.0 * options.carryOverWeight());
+            double cooling = Math.pow(Math.min(END_TEMPERATURE / temperature, 1.0), 1.0 / maxIterations);
+            long cost = cost();
+
+            for (long i = 0; i < maxIterations; i++) {
+                if (i % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                    timedOut = true;
+                    break;
+                }
+                iterations++;
+                temperature *= cooling;
+
+                int move = random.nextInt(3);
+                int a;
+                int b;
+                long delta;
+                if (move == 0) {
+                    // Venue of a pairing; a team with a bye in the drawn round flips nothing
+                    a = random.nextInt(n);
+                    b = opponent[random.nextInt(rounds) * n + a];
+                    if (b < 0) {
+                        continue;
+                    }
+                    delta = flip(a, b);
+                } else if (move == 1 && roundsPerLeg > 1) {
+                    int leg = random.nextInt(legs);
+                    a = leg * roundsPerLeg + random.nextInt(roundsPerLeg);
+                    b = leg * roundsPerLeg + random.nextInt(roundsPerLeg - 1);
+                    if (b >= a) {
+                        b++;
+                    }
+                    delta = swapSlots(a, b);
+                } else {
+                    move = 2;
+                    a = random.nextInt(n);
+                    b = random.nextInt(n - 1);
+                    if (b >= a) {
+                        b++;
+                    }
+                    delta = swapTeams(a, b);
+                }
+
+                if (breaks <= breakLimit
+                        && (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature))) {
+                    cost += delta;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        System.arraycopy(opponent, 0, bestOpponent, 0, opponent.length);
+                        System.arraycopy(atHome, 0, bestAtHome, 0, atHome.length);
+                    }
+                } else if (move == 0) {
+                    flip(a, b);
+                } else if (move == 1) {
+                    swapSlots(a, b);
+                } else {
+                    swapTeams(a, b);
+                }
+            }
+        }
+
+        private long cost() {
+            return options.breakWeight() * breaks + options.carryOverWeight() * carryOver + REPEAT_WEIGHT * repeats;
+        }
+
+        // Swaps the venue of every meeting of the two teams
+        private long flip(int first, int second) {
+            int count = 0;
+            for (int slot = 0; slot < rounds; slot++) {
+                if (opponent[slot * n + first] == second) {
+                    count = addBoundary(count, slot - 1);
+                    count = addBoundary(count, slot);
+                }
+            }
+
+            long before = 0;
+            for (int i = 0; i < count; i++) {
+                before += teamBreakAt(boundaries[i], first) + teamBreakAt(boundaries[i], second);
+            }
+            for (int slot = 0; slot < rounds; slot++) {
+                if (opponent[slot * n + first] == second) {
+                    atHome[slot * n + first] = !atHome[slot * n + first];
+                    atHome[slot * n + second] = !atHome[slot * n + second];
+                }
+            }
+            long after = 0;
+            for (int i = 0; i < count; i++) {
+                after += teamBreakAt(boundaries[i], first) + teamBreakAt(boundaries[i], second);
+            }
+
+            breaks += after - before;
+            return options.breakWeight() * (after - before);
+        }
+
+        private long swapSlots(int first, int second) {
+            long before = cost();
+            int count = 0;
+            count = addBoundary(count, first - 1);
+            count = addBoundary(count, first);
+            count = addBoundary(count, second - 1);
+            count = addBoundary(count, second);
+
+            for (int i = 0; i < count; i++) {
+                breaks -= breaksAt(boundaries[i]);
+                for (int team = 0; team < n; team++) {
+                    updateTransition(boundaries[i], team, -1);
+                }
+            }
+
+            int firstRow = first * n;
+            int secondRow = second * n;
+            for (int team = 0; team < n; team++) {
+                int opp = opponent[firstRow + team];
+                opponent[firstRow + team] = opponent[secondRow + team];
+                opponent[secondRow + team] = opp;
+                boolean home = atHome[firstRow + team];
+                atHome[firstRow + team] = atHome[secondRow + team];
+                atHome[secondRow + team] = home;
+            }
+
+            for (int i = 0; i < count; i++) {
+                breaks += breaksAt(boundaries[i]);
+                for (int team = 0; team < n; team++) {
+                    updateTransition(boundaries[i], team, 1);
+                }
+            }
+            return cost() - before;
+        }
+
+        /**
+         * Exchanges the fixtures of two teams outside their own meetings. Each
+         * opponent keeps its venue, so only the two teams' break counts change;
+         * carry-over changes for every team whose opponent sequence involves
+         * either of them.
+         */
+        private long swapTeams(int first, int second) {
+            long before = cost();
+            for (int boundary = 0; boundary < rounds - 1; boundary++) {
+                breaks -= teamBreakAt(boundary, first) + teamBreakAt(boundary, second);
+                int count = affectedTeams(boundary, first, second);
+                for (int i = 0; i < count; i++) {
+                    updateTransition(boundary, teams[i], -1);
+                }
+            }
+
+            for (int slot = 0; slot < rounds; slot++) {
+                int row = slot * n;
+                int x = opponent[row + first];
+                int y = opponent[row + second];
+                if (x == second) {
+                    continue;
+                }
+                opponent[row + first] = y;
+                opponent[row + second] = x;
+                boolean home = atHome[row + first];
+                atHome[row + first] = atHome[row + second];
+                atHome[row + second] = home;
+                if (x >= 0) {
+                    opponent[row + x] = second;
+                }
+                if (y >= 0) {
+                    opponent[row + y] = first;
+                }
+            }
+
+            for (int boundary = 0; boundary < rounds - 1; boundary++) {
+                breaks += teamBreakAt(boundary, first) + teamBreakAt(boundary, second);
+                int count = affectedTeams(boundary, first, second);
+                for (int i = 0; i < count; i++) {
+                    updateTransition(boundary, teams[i], 1);
+                }
+            }
+            return cost() - before;
+        }
+
+        // Teams whose opponent at either side of the boundary is one of the two,
+        // plus the two themselves; the set is the same before and after a swap
+        private int affectedTeams(int boundary, int first, int second) {
+            int count = 0;
+            count = addTeam(count, first);
+            count = addTeam(count, second);
+            for (int slot = boundary; slot <= boundary + 1; slot++) {
+                count = addTeam(count, opponent[slot * n + first]);
+                count = addTeam(count, opponent[slot * n + second]);
+            }
+            return count;
+        }
+
+        private int addTeam(int count, int team) {
+            if (team < 0) {
+                return count;
+            }
+            for (int i = 0; i < count; i++) {
+                if (teams[i] == team) {
+                    return count;
+                }
+            }
+            teams[count] = team;
+            return count + 1;
+        }
+
+        // Collects the boundary between slots b and b + 1, skipping duplicates and the ends
+        private int addBoundary(int count, int boundary) {
+            if (boundary < 0 || boundary >= rounds - 1) {
+                return count;
+            }
+            for (int i = 0; i < count; i++) {
+                if (boundaries[i] == boundary) {
+                    return count;
+                }
+            }
+            boundaries[count] = boundary;
+            return count + 1;
+        }
+
+        private int breaksAt(int boundary) {
+            int result = 0;
+            for (int team = 0; team < n; team++) {
+                result += teamBreakAt(boundary, team);
+            }
+            return result;
+        }
+
+        private int teamBreakAt(int boundary, int team) {
+            int now = boundary * n + team;
+            int next = now + n;
+            return opponent[now] >= 0 && opponent[next] >= 0 && atHome[now] == atHome[next] ? 1 : 0;
+        }
+
+        // Adds or removes the carry-over from the team's opponent before the boundary to the one after it
+        private void updateTransition(int boundary, int team, int sign) {
+            int from = opponent[boundary * n + team];
+            int to = opponent[(boundary + 1) * n + team];
+            if (from < 0 || to < 0) {
+                return;
+            }
+            if (from == to) {
+                repeats += sign;
+            }
+            int cell = from * n + to;
+            if (sign > 0) {
+                carryOver += 2L * carry[cell] + 1;
+                carry[cell]++;
+            } else {
+                carry[cell]--;
+                carryOver -= 2L * carry[cell] + 1;
+            }
+        }
+
+        RoundRobinSchedule bestSchedule() {
+            int[] home = new int[rounds * matchesPerRound];
+            int[] away = new int[rounds * matchesPerRound];
+            int out = 0;
+            for (int slot = 0; slot < rounds; slot++) {
+                for (int team = 0; team < n; team++) {
+                    int opp = bestOpponent[slot * n + team];
+                    if (opp >= 0 && bestAtHome[slot * n + team]) {
+                        home[out] = team;
+                        away[out] = opp;
+                        out++;
+                    }
+                }
+            }
+            return new RoundRobinSchedule(n, legs, roundsPerLeg, matchesPerRound, home, away);
+        }
+    }
+}
\ No newline at end of file
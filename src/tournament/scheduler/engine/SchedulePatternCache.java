@@ -0,0 +1,212 @@
+package tournament.scheduler.engine;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least-recently-used cache of pairing patterns. A pattern depends only on
+ * the team count, the number of legs and the optimizer options (null for the
+ * plain circle method), never on team names, so leagues of a common size
+ * share one entry; names are applied by index when the schedule is rendered.
+ *
+ * <p>Entries are kept as one interleaved home/away table, in {@code short}s
+ * when team indexes fit, which halves the footprint of an entry. A hit
+ * expands the table into a new {@link RoundRobinSchedule} in one pass over
+ * the matches. Concurrent misses for the same key wait for a single
+ * computation, so an expensive optimizer run is never repeated.
+ *
+ * <p>Besides the entry count, the total number of cached matches is capped:
+ * the least recently used entries are evicted until both limits hold, and a
+ * pattern larger than the whole match budget is returned without caching.
+ */
+public final class SchedulePatternCache {
+    public static final int DEFAULT_CAPACITY = 128;
+    // About 4 MB of short pairs, e.g. 670 leagues of 40 teams playing two legs
+    public static final long DEFAULT_MAX_MATCHES = 1 << 20;
+
+    private static final SchedulePatternCache SHARED =
+        new SchedulePatternCache(DEFAULT_CAPACITY, DEFAULT_MAX_MATCHES);
+
+    private record Key(int teamCount, int legs, ScheduleOptimizer.Options options) {
+    }
+
+    // Exactly one of shortPairs and intPairs is set; pairs are (home, away) per match
+    private record Pattern(int teamCount, int legs, int matchesPerRound, short[] shortPairs, int[] intPairs) {
+        static Pattern of(RoundRobinSchedule schedule) {
+            int matchCount = schedule.getMatchCount();
+            if (schedule.getTeamCount() <= Short.MAX_VALUE) {
+                short[] pairs = new short[2 * matchCount];
+                for (int m = 0; m < matchCount; m++) {
+                    pairs[2 * m] = (short) schedule.home(m);
+                    pairs[2 * m + 1] = (short) schedule.away(m);
+                }
+                return new Pattern(schedule.getTeamCount(), schedule.getLegs(), schedule.getMatchesPerRound(),
+                    pairs, null);
+            }
+            int[] pairs = new int[2 * matchCount];
+            for (int m = 0; m < matchCount; m++) {
+                pairs[2 * m] = schedule.home(m);
+                pairs[2 * m + 1] = schedule.away(m);
+            }
+            return new Pattern(schedule.getTeamCount(), schedule.getLegs(), schedule.getMatchesPerRound(),
+                null, pairs);
+        }
+
+        int matchCount() {
+            return (shortPairs != null ? shortPairs.length : intPairs.length) / 2;
+        }
+
+        RoundRobinSchedule toSchedule() {
+            int matchCount = matchCount();
+            int[] home = new int[matchCount];
+            int[] away = new int[matchCount];
+            if (shortPairs != null) {
+                for (int m = 0; m < matchCount; m++) {
+                    home[m] = shortPairs[2 * m];
+                    away[m] = shortPairs[2 * m + 1];
+                }
+            } else {
+                for (int m = 0; m < matchCount; m++) {
+                    home[m] = intPairs[2 * m];
+                    away[m] = intPairs[2 * m + 1];
+                }
+            }
+            return new RoundRobinSchedule(teamCount, legs, matchCount / matchesPerRound / legs, matchesPerRound,
+                home, away);
+        }
+    }
+
+    private final int capacity;
+    private final long maxMatches;
+    // Access-ordered, eldest first; guarded by itself along with cachedMatches
+    private final LinkedHashMap<Key, Pattern> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedMatches;
+    private final Map<Key, CompletableFuture<Pattern>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SchedulePatternCache(int capacity) {
+        this(capacity, DEFAULT_MAX_MATCHES);
+    }
+
+    public SchedulePatternCache(int capacity, long maxMatches) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        if (maxMatches < 1) {
+            throw new IllegalArgumentException("Match budget must be positive, got " + maxMatches);
+        }
+        this.capacity = capacity;
+        this.maxMatches = maxMatches;
+    }
+
+    // Process-wide instance used by the application front ends
+    public static SchedulePatternCache shared() {
+        return SHARED;
+    }
+
+    // Same result as RoundRobinEngine.generate(teamCount, legs)
+    public RoundRobinSchedule get(int teamCount, int legs) {
+        return get(teamCount, legs, null);
+    }
+
+    /**
+     * Same result as optimizing {@code RoundRobinEngine.generate(teamCount, legs)}
+     * with the given options, or the plain pattern if {@code options} is null.
+     * Every call returns a new schedule, so callers never share state.
+     */
+    public RoundRobinSchedule get(int teamCount, int legs, ScheduleOptimizer.Options options) {
+        Key key = new Key(teamCount, legs, options);
+        Pattern pattern;
+        synchronized (entries) {
+            pattern = entries.get(key);
+        }
+        if (pattern != null) {
+            hits.increment();
+            return pattern.toSchedule();
+        }
+
+        CompletableFuture<Pattern> created = new CompletableFuture<>();
+        CompletableFuture<Pattern> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            // Another thread is computing this pattern
+            hits.increment();
+            try {
+                return running.join().toSchedule();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        misses.increment();
+        try {
+            RoundRobinSchedule schedule = RoundRobinEngine.generate(teamCount, legs);
+            if (options != null) {
+                schedule = ScheduleOptimizer.optimize(schedule, options).schedule();
+            }
+            pattern = Pattern.of(schedule);
+            put(key, pattern);
+            created.complete(pattern);
+            return schedule;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private void put(Key key, Pattern pattern) {
+        if (pattern.matchCount() > maxMatches) {
+            return;
+        }
+        synchronized (entries) {
+            Pattern previous = entries.put(key, pattern);
+            cachedMatches += pattern.matchCount() - (previous != null ? previous.matchCount() : 0);
+            Iterator<Pattern> eldest = entries.values().iterator();
+            while (entries.size() > capacity || cachedMatches > maxMatches) {
+                cachedMatches -= eldest.next().matchCount();
+                eldest.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getMaxMatches() {
+        return maxMatches;
+    }
+
+    public long getCachedMatchCount() {
+        synchronized (entries) {
+            return cachedMatches;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            cachedMatches = 0;
+        }
+    }
+}
\ No newline at end of file
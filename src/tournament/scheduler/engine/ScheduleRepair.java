@@ -0,0 +1,282 @@
+package tournament.scheduler.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal-change fixes for a schedule that is already published. Instead of
+ * regenerating, a repair only touches the matches around the disruption and
+ * reports exactly those, so only they need to be re-published.
+ *
+ * <p>Pairings never change slots. The round each match is actually played in
+ * is kept next to the schedule: it starts as the round of the match's slot,
+ * may move to a later round, and is {@link #CANCELLED_ROUND} once the match
+ * is cancelled. {@link Result#rounds()} carries it into the next repair.
+ *
+ * <ul>
+ * <li>{@link Postponement}: only the match moves, to the nearest later round
+ * in which both teams are idle (a bye, or a match of theirs that was moved or
+ * cancelled), or else to a catch-up round after the last one.</li>
+ * <li>{@link VenueUnavailable}: the team's home match in that round is played
+ * at the opponent's ground, and the nearest return fixture in a later round
+ * is reversed to keep home games balanced. Without one, only the match is
+ * reversed.</li>
+ * <li>{@link Withdrawal}: the team's remaining matches are cancelled.</li>
+ * </ul>
+ * Each repair runs in time linear in the size of the schedule and does not
+ * modify its input.
+ */
+public final class ScheduleRepair {
+    // Round of a cancelled match
+    public static final int CANCELLED_ROUND = 0;
+
+    public sealed interface Disruption permits Postponement, VenueUnavailable, Withdrawal {
+    }
+
+    // The match cannot be played in its current round
+    public record Postponement(int match) implements Disruption {
+    }
+
+    // The team's ground cannot be used in the given round
+    public record VenueUnavailable(int team, int round) implements Disruption {
+    }
+
+    // The team plays no more matches from the given round on
+    public record Withdrawal(int team, int fromRound) implements Disruption {
+    }
+
+    public enum Kind {
+        MOVED,
+        HOME_AWAY_SWAPPED,
+        CANCELLED
+    }
+
+    /**
+     * Match {@code match} is now {@code home} vs {@code away}, played in
+     * {@code round}; it was played in {@code previousRound} before the repair.
+     * A cancelled match keeps its round.
+     */
+    public record MatchChange(Kind kind, int match, int round, int home, int away, int previousRound) {
+    }
+
+    // rounds[m] is the round match m is played in after the repair
+    public record Result(RoundRobinSchedule schedule, int[] rounds, List<MatchChange> changes, int breaksDelta) {
+    }
+
+    @FunctionalInterface
+    private interface Venue {
+        // 1 home, 0 away, -1 no match
+        int of(int team, int round);
+    }
+
+    private ScheduleRepair() {
+    }
+
+    public static Result repair(RoundRobinSchedule schedule, Disruption disruption) {
+        return repair(schedule, rounds(schedule), disruption);
+    }
+
+    /**
+     * Repairs a schedule that earlier repairs may have changed:
+     * {@code rounds[m]} is the round match {@code m} is played in, or
+     * {@link #CANCELLED_ROUND}.
+     */
+    public static Result repair(RoundRobinSchedule schedule, int[] rounds, Disruption disruption) {
+        if (rounds.length != schedule.getMatchCount()) {
+            throw new IllegalArgumentException("Expected " + schedule.getMatchCount() + " rounds, got "
+                + rounds.length);
+        }
+        return switch (disruption) {
+            case Postponement p -> postpone(schedule, rounds, p.match());
+            case VenueUnavailable v -> relocate(schedule, rounds, v.team(), v.round());
+            case Withdrawal w -> withdraw(schedule, rounds, w.team(), w.fromRound());
+        };
+    }
+
+    // Round of every match's slot, before anything has been moved or cancelled
+    public static int[] rounds(RoundRobinSchedule schedule) {
+        int[] rounds = new int[schedule.getMatchCount()];
+        for (int m = 0; m < rounds.length; m++) {
+            rounds[m] = schedule.round(m);
+        }
+        return rounds;
+    }
+
+    private static Result postpone(RoundRobinSchedule schedule, int[] rounds, int match) {
+        if (match < 0 || match >= schedule.getMatchCount()) {
+            throw new IllegalArgumentException("No match " + match);
+        }
+        if (rounds[match] == CANCELLED_ROUND) {
+            throw new IllegalStateException("Match " + match + " is cancelled");
+        }
+        int n = schedule.getTeamCount();
+        int home = schedule.home(match);
+        int away = schedule.away(match);
+        int round = rounds[match];
+        int lastRound = lastRound(rounds);
+        int[] slots = slotIndex(schedule, rounds, lastRound);
+
+        // Past the last round both teams are free, so a catch-up round always exists
+        int target = round + 1;
+        while (target <= lastRound
+                && (slots[(target - 1) * n + home] >= 0 || slots[(target - 1) * n + away] >= 0)) {
+            target++;
+        }
+
+        int[] moved = rounds.clone();
+        moved[match] = target;
+        int to = target;
+        Venue before = (t, r) -> venue(slots, n, schedule, t, r);
+        Venue after = (t, r) -> t != home && t != away ? before.of(t, r)
+            : r == round ? -1 : r == to ? (t == home ? 1 : 0) : before.of(t, r);
+        int breaks = breaksDelta(new int[] {home, away}, 2, new int[] {round - 1, round, target - 1, target},
+            Math.max(lastRound, target), before, after);
+        return new Result(schedule, moved, List.of(new MatchChange(Kind.MOVED, match, target, home, away, round)),
+            breaks);
+    }
+
+    private static Result relocate(RoundRobinSchedule schedule, int[] rounds, int team, int round) {
+        int lastRound = lastRound(rounds);
+        checkTeam(schedule, team);
+        checkRound(round, lastRound);
+        int n = schedule.getTeamCount();
+        int[] slots = slotIndex(schedule, rounds, lastRound);
+        int match = slots[(round - 1) * n + team];
+        if (match < 0 || schedule.home(match) != team) {
+            // Away or idle that round: the ground is not needed
+            return new Result(schedule, rounds.clone(), List.of(), 0);
+        }
+        int opponent = schedule.away(match);
+
+        // Nearest later return fixture, where the opponent hosts; earlier rounds may already be played
+        int returnMatch = -1;
+        for (int r = round + 1; r <= lastRound && returnMatch < 0; r++) {
+            int m = slots[(r - 1) * n + team];
+            if (m >= 0 && schedule.home(m) == opponent && schedule.away(m) == team) {
+                returnMatch = m;
+            }
+        }
+
+        int[] home = copyHomes(schedule);
+        int[] away = copyAways(schedule);
+        List<MatchChange> changes = new ArrayList<>(2);
+        int[] flipped = returnMatch < 0 ? new int[] {match} : new int[] {match, returnMatch};
+        for (int m : flipped) {
+            home[m] = schedule.away(m);
+            away[m] = schedule.home(m);
+            changes.add(new MatchChange(Kind.HOME_AWAY_SWAPPED, m, rounds[m], home[m], away[m], rounds[m]));
+        }
+
+        int returnRound = returnMatch < 0 ? round : rounds[returnMatch];
+        Venue before = (t, r) -> venue(slots, n, schedule, t, r);
+        Venue after = (t, r) -> {
+            int v = before.of(t, r);
+            return (r == round || r == returnRound) && v >= 0 ? 1 - v : v;
+        };
+        int breaks = breaksDelta(new int[] {team, opponent}, 2,
+            new int[] {round - 1, round, returnRound - 1, returnRound}, lastRound, before, after);
+        return new Result(copyOf(schedule, home, away), rounds.clone(), changes, breaks);
+    }
+
+    private static Result withdraw(RoundRobinSchedule schedule, int[] rounds, int team, int fromRound) {
+        checkTeam(schedule, team);
+        checkRound(fromRound, lastRound(rounds));
+        int[] after = rounds.clone();
+        List<MatchChange> changes = new ArrayList<>();
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            // Cancelled matches have round 0 and are skipped
+            if (rounds[m] >= fromRound && (schedule.home(m) == team || schedule.away(m) == team)) {
+                after[m] = CANCELLED_ROUND;
+                changes.add(new MatchChange(Kind.CANCELLED, m, rounds[m], schedule.home(m), schedule.away(m),
+                    rounds[m]));
+            }
+        }
+        return new Result(schedule, after, changes, 0);
+    }
+
+    private static int lastRound(int[] rounds) {
+        int last = 1;
+        for (int round : rounds) {
+            last = Math.max(last, round);
+        }
+        return last;
+    }
+
+    // Match of every (round, team) at index (round - 1) * teamCount + team, -1 when idle
+    private static int[] slotIndex(RoundRobinSchedule schedule, int[] rounds, int lastRound) {
+        int n = schedule.getTeamCount();
+        int[] slots = new int[lastRound * n];
+        Arrays.fill(slots, -1);
+        for (int m = 0; m < rounds.length; m++) {
+            if (rounds[m] != CANCELLED_ROUND) {
+                int base = (rounds[m] - 1) * n;
+                slots[base + schedule.home(m)] = m;
+                slots[base + schedule.away(m)] = m;
+            }
+        }
+        return slots;
+    }
+
+    private static int venue(int[] slots, int teamCount, RoundRobinSchedule schedule, int team, int round) {
+        int index = (round - 1) * teamCount + team;
+        int m = round < 1 || index >= slots.length ? -1 : slots[index];
+        return m < 0 ? -1 : schedule.home(m) == team ? 1 : 0;
+    }
+
+    // Change in breaks of the given teams at the boundaries between round b and b + 1
+    private static int breaksDelta(int[] teams, int teamCount, int[] boundaries, int rounds,
+                                   Venue before, Venue after) {
+        int[] sorted = boundaries.clone();
+        Arrays.sort(sorted);
+        int delta = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            int b = sorted[i];
+            if (b < 1 || b >= rounds || (i > 0 && sorted[i - 1] == b)) {
+                continue;
+            }
+            for (int t = 0; t < teamCount; t++) {
+                delta += isBreak(after, teams[t], b) - isBreak(before, teams[t], b);
+            }
+        }
+        return delta;
+    }
+
+    private static int isBreak(Venue venue, int team, int round) {
+        int v = venue.of(team, round);
+        return v >= 0 && v == venue.of(team, round + 1) ? 1 : 0;
+    }
+
+    private static int[] copyHomes(RoundRobinSchedule schedule) {
+        int[] home = new int[schedule.getMatchCount()];
+        for (int m = 0; m < home.length; m++) {
+            home[m] = schedule.home(m);
+        }
+        return home;
+    }
+
+    private static int[] copyAways(RoundRobinSchedule schedule) {
+        int[] away = new int[schedule.getMatchCount()];
+        for (int m = 0; m < away.length; m++) {
+            away[m] = schedule.away(m);
+        }
+        return away;
+    }
+
+    private static RoundRobinSchedule copyOf(RoundRobinSchedule schedule, int[] home, int[] away) {
+        return new RoundRobinSchedule(schedule.getTeamCount(), schedule.getLegs(), schedule.getRoundsPerLeg(),
+            schedule.getMatchesPerRound(), home, away);
+    }
+
+    private static void checkTeam(RoundRobinSchedule schedule, int team) {
+        if (team < 0 || team >= schedule.getTeamCount()) {
+            throw new IllegalArgumentException("No team " + team);
+        }
+    }
+
+    private static void checkRound(int round, int lastRound) {
+        if (round < 1 || round > lastRound) {
+            throw new IllegalArgumentException("Round " + round + " is outside 1.." + lastRound);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package tournament.scheduler.engine;
+
+/**
+ * The pairings of one Swiss round as parallel index arrays, like
+ * {@link RoundRobinSchedule}. Pairing {@code i} is {@code home(i)} vs
+ * {@code away(i)}; pairings are ordered by the rank of their higher-placed
+ * player, so board 1 comes first.
+ */
+public final class SwissRound {
+    private final int round;
+    private final int[] home;
+    private final int[] away;
+    private final int byePlayer;
+
+    SwissRound(int round, int[] home, int[] away, int byePlayer) {
+        this.round = round;
+        this.home = home;
+        this.away = away;
+        this.byePlayer = byePlayer;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getPairingCount() {
+        return home.length;
+    }
+
+    public int home(int pairing) {
+        return home[pairing];
+    }
+
+    public int away(int pairing) {
+        return away[pairing];
+    }
+
+    // Player sitting out this round, or -1
+    public int getByePlayer() {
+        return byePlayer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,514 @@
+package tournament.scheduler.engine;
+
+import java.util.Arrays;
+
+/**
+ * Swiss-system event for fields too large for a round robin. Players are
+ * numbered 0..n-1 in seeding order. Each round pairs players with equal
+ * scores, never pairs the same two players twice while any pairing of the
+ * round's players avoids it, and balances home and away games.
+ *
+ * <p>All state is kept in primitive arrays indexed by player: scores in
+ * half points, home/away balance, the last venue and its streak, and the
+ * opponent of every player in every round. Pairing a round sorts the field
+ * once by packed {@code long} keys and then works through the score groups
+ * in rank order, so a round of several thousand players takes milliseconds.
+ *
+ * <p>Within a score group the top half meets the bottom half (1 vs n/2+1,
+ * 2 vs n/2+2, ...). A player whose natural opponent is not allowed takes the
+ * next allowed one; players left over float down into the next group. Any
+ * players still unpaired at the bottom are fitted in by a maximum matching
+ * (Edmonds' blossom algorithm) over them and the lowest pairings, taking in
+ * more pairings from the bottom up until everyone is paired. Only if the
+ * whole round has no perfect matching without rematches is one allowed.
+ * A player may not play the same venue three times running or get more than
+ * two home games ahead or behind, unless no other pairing is left.
+ */
+public final class SwissTournament {
+    // Scores are kept in half points so a draw stays an integer
+    public static final int WIN = 2;
+    public static final int DRAW = 1;
+    public static final int LOSS = 0;
+
+    private static final int MAX_VENUE_BALANCE = 2;
+    private static final int MAX_VENUE_STREAK = 2;
+
+    private final int playerCount;
+    private final int[] score;
+    // Home games minus away games
+    private final int[] venueBalance;
+    // 1 home, -1 away, 0 not played yet
+    private final byte[] lastVenue;
+    private final int[] venueStreak;
+    private final boolean[] hadBye;
+    // Opponent of player p in round r at r * playerCount + p, -1 for a bye
+    private int[] opponents;
+    private int roundsPaired;
+    private SwissRound pending;
+
+    public SwissTournament(int playerCount) {
+        if (playerCount < 2) {
+            throw new IllegalArgumentException("At least 2 players are required, got " + playerCount);
+        }
+        this.playerCount = playerCount;
+        this.score = new int[playerCount];
+        this.venueBalance = new int[playerCount];
+        this.lastVenue = new byte[playerCount];
+        this.venueStreak = new int[playerCount];
+        this.hadBye = new boolean[playerCount];
+        this.opponents = new int[8 * playerCount];
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getRoundsPaired() {
+        return roundsPaired;
+    }
+
+    // Score in half points
+    public int getScore(int player) {
+        return score[player];
+    }
+
+    public int getVenueBalance(int player) {
+        return venueBalance[player];
+    }
+
+    public boolean havePlayed(int a, int b) {
+        for (int r = 0; r < roundsPaired; r++) {
+            if (opponents[r * playerCount + a] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sum of the opponents' scores, the usual first tie-break
+    public int getBuchholz(int player) {
+        int sum = 0;
+        for (int r = 0; r < roundsPaired; r++) {
+            int opponent = opponents[r * playerCount + player];
+            if (opponent >= 0) {
+                sum += score[opponent];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Pairs the next round. The results of the previous round must have been
+     * recorded. If the field is odd, the lowest-ranked player without a bye
+     * sits out and scores a win.
+     */
+    public SwissRound pairNextRound() {
+        if (pending != null) {
+            throw new IllegalStateException("Results of round " + pending.getRound() + " are not recorded yet");
+        }
+        int[] ranked = ranking(false);
+        boolean[] available = new boolean[playerCount];
+        Arrays.fill(available, true);
+
+        int bye = -1;
+        if ((playerCount & 1) == 1) {
+            for (int i = playerCount - 1; i >= 0 && bye < 0; i--) {
+                if (!hadBye[ranked[i]]) {
+                    bye = ranked[i];
+                }
+            }
+            if (bye < 0) {
+                bye = ranked[playerCount - 1];
+            }
+            available[bye] = false;
+        }
+
+        int pairCount = playerCount / 2;
+        int[] first = new int[pairCount];
+        int[] second = new int[pairCount];
+        int pairs = 0;
+
+        // Score groups in rank order; floaters join the top of the next group
+        int[] group = new int[playerCount];
+        int groupSize = 0;
+        int[] used = new int[playerCount];
+        int i = 0;
+        while (i < playerCount) {
+            int groupScore = score[ranked[i]];
+            while (i < playerCount && score[ranked[i]] == groupScore) {
+                if (available[ranked[i]]) {
+                    group[groupSize++] = ranked[i];
+                }
+                i++;
+            }
+            if (groupSize < 2 && i < playerCount) {
+                continue;
+            }
+            pairs = pairGroup(group, groupSize, first, second, pairs, used);
+            // Unpaired players float down, keeping their rank order
+            int floaters = 0;
+            for (int g = 0; g < groupSize; g++) {
+                if (used[g] == 0) {
+                    group[floaters++] = group[g];
+                }
+            }
+            groupSize = floaters;
+        }
+
+        if (groupSize >= 2) {
+            pairs = pairLeftovers(group, groupSize, first, second, pairs);
+        }
+
+        // Boards in order of the better-ranked player of each pairing
+        int[] rank = new int[playerCount];
+        for (int r = 0; r < playerCount; r++) {
+            rank[ranked[r]] = r;
+        }
+        long[] boards = new long[pairs];
+        for (int p = 0; p < pairs; p++) {
+            if (rank[second[p]] < rank[first[p]]) {
+                int swap = first[p];
+                first[p] = second[p];
+                second[p] = swap;
+            }
+            boards[p] = (long) rank[first[p]] << 32 | p;
+        }
+        Arrays.sort(boards);
+
+        int round = roundsPaired + 1;
+        int[] home = new int[pairs];
+        int[] away = new int[pairs];
+        for (int b = 0; b < pairs; b++) {
+            int p = (int) boards[b];
+            if (homeFirst(first[p], second[p], round)) {
+                home[b] = first[p];
+                away[b] = second[p];
+            } else {
+                home[b] = second[p];
+                away[b] = first[p];
+            }
+        }
+        pending = new SwissRound(round, home, away, bye);
+        commitPairings(pending);
+        return pending;
+    }
+
+    /**
+     * Records the results of the pending round; {@code homePoints[i]} is
+     * {@link #WIN}, {@link #DRAW} or {@link #LOSS} for the home player of
+     * pairing {@code i}.
+     */
+    public void recordResults(int[] homePoints) {
+        if (pending == null) {
+            throw new IllegalStateException("No round is waiting for results");
+        }
+        if (homePoints.length != pending.getPairingCount()) {
+            throw new IllegalArgumentException("Expected " + pending.getPairingCount() + " results, got "
+                + homePoints.length);
+        }
+        for (int p = 0; p < homePoints.length; p++) {
+            int points = homePoints[p];
+            if (points < LOSS || points > WIN) {
+                throw new IllegalArgumentException("Result " + points + " of pairing " + p + " is not 0, 1 or 2");
+            }
+        }
+        for (int p = 0; p < homePoints.length; p++) {
+            score[pending.home(p)] += homePoints[p];
+            score[pending.away(p)] += WIN - homePoints[p];
+        }
+        if (pending.getByePlayer() >= 0) {
+            score[pending.getByePlayer()] += WIN;
+        }
+        pending = null;
+    }
+
+    // Players by score, then Buchholz, then seed
+    public int[] standings() {
+        return ranking(true);
+    }
+
+    private int[] ranking(boolean withBuchholz) {
+        // Higher scores first: the complemented score sorts ascending
+        long[] keys = new long[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            long tieBreak = withBuchholz ? 0xFFFFF - Math.min(getBuchholz(p), 0xFFFFF) : 0;
+            keys[p] = (long) (0x7FF - Math.min(score[p], 0x7FF)) << 52 | tieBreak << 32 | p;
+        }
+        Arrays.sort(keys);
+        int[] ranked = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            ranked[i] = (int) keys[i];
+        }
+        return ranked;
+    }
+
+    /**
+     * Pairs a score group, top half against bottom half. {@code used[g]} is
+     * set for every paired member; returns the new number of pairs.
+     */
+    private int pairGroup(int[] group, int size, int[] first, int[] second, int pairs, int[] used) {
+        Arrays.fill(used, 0, size, 0);
+        int half = size / 2;
+        for (int g = 0; g < half; g++) {
+            if (used[g] != 0) {
+                continue;
+            }
+            int partner = -1;
+            // Natural opponent first, then the rest of the bottom half, then anyone below
+            for (int h = half + g; h < size && partner < 0; h++) {
+                if (used[h] == 0 && allowed(group[g], group[h], true)) {
+                    partner = h;
+                }
+            }
+            for (int h = g + 1; h < half + g && partner < 0; h++) {
+                if (used[h] == 0 && allowed(group[g], group[h], true)) {
+                    partner = h;
+                }
+            }
+            if (partner >= 0) {
+                used[g] = 1;
+                used[partner] = 1;
+                first[pairs] = group[g];
+                second[pairs++] = group[partner];
+            }
+        }
+        // Whoever is left in the bottom half pairs among themselves
+        for (int g = half; g < size; g++) {
+            if (used[g] != 0) {
+                continue;
+            }
+            for (int h = g + 1; h < size; h++) {
+                if (used[h] == 0 && allowed(group[g], group[h], true)) {
+                    used[g] = 1;
+                    used[h] = 1;
+                    first[pairs] = group[g];
+                    second[pairs++] = group[h];
+                    break;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Re-pairs the players the score groups left over together with the
+     * lowest pairings, doubling the number of pairings taken in until the
+     * matching is perfect or covers the whole round. Players the maximum
+     * matching still leaves out can only meet in rematches. Returns the new
+     * number of pairs.
+     */
+    private int pairLeftovers(int[] left, int leftCount, int[] first, int[] second, int pairs) {
+        int[] players = new int[leftCount + 2 * pairs];
+        int[] mate = new int[players.length];
+        int window = Math.min(pairs, 4);
+        while (true) {
+            int count = 0;
+            for (int i = 0; i < leftCount; i++) {
+                players[count] = left[i];
+                mate[count++] = -1;
+            }
+            int from = pairs - window;
+            for (int p = from; p < pairs; p++) {
+                players[count] = first[p];
+                players[count + 1] = second[p];
+                mate[count] = count + 1;
+                mate[count + 1] = count;
+                count += 2;
+            }
+            if (completeMatching(players, count, mate) || window == pairs) {
+                int p = from;
+                int unmatched = -1;
+                for (int i = 0; i < count; i++) {
+                    if (mate[i] > i) {
+                        first[p] = players[i];
+                        second[p++] = players[mate[i]];
+                    } else if (mate[i] < 0 && unmatched < 0) {
+                        unmatched = i;
+                    } else if (mate[i] < 0) {
+                        // Every alternative is a rematch
+                        first[p] = players[unmatched];
+                        second[p++] = players[i];
+                        unmatched = -1;
+                    }
+                }
+                return p;
+            }
+            window = Math.min(pairs, window * 2);
+        }
+    }
+
+    /**
+     * Extends {@code mate} (local indexes into {@code players}, -1 for
+     * unmatched) to a maximum matching over pairings that are not rematches.
+     * Only unmatched players start augmenting paths, so finishing an almost
+     * complete matching costs O(count^2) per player left over. Returns true
+     * if everyone is matched.
+     */
+    private boolean completeMatching(int[] players, int count, int[] mate) {
+        int[] parent = new int[count];
+        int[] base = new int[count];
+        int[] queue = new int[count];
+        boolean[] inTree = new boolean[count];
+        boolean[] inBlossom = new boolean[count];
+        boolean[] onPath = new boolean[count];
+        boolean complete = true;
+        for (int root = 0; root < count; root++) {
+            if (mate[root] >= 0) {
+                continue;
+            }
+            int end = augmentingPath(players, count, mate, root, parent, base, queue, inTree, inBlossom, onPath);
+            if (end < 0) {
+                complete = false;
+                continue;
+            }
+            // Flip the matched and unmatched edges along the path
+            while (end >= 0) {
+                int previous = parent[end];
+                int next = mate[previous];
+                mate[end] = previous;
+                mate[previous] = end;
+                end = next;
+            }
+        }
+        return complete;
+    }
+
+    // Breadth-first search for an unmatched player reachable from root, contracting odd cycles
+    private int augmentingPath(int[] players, int count, int[] mate, int root, int[] parent, int[] base,
+                               int[] queue, boolean[] inTree, boolean[] inBlossom, boolean[] onPath) {
+        Arrays.fill(parent, -1);
+        Arrays.fill(inTree, false);
+        for (int i = 0; i < count; i++) {
+            base[i] = i;
+        }
+        int head = 0;
+        int tail = 0;
+        inTree[root] = true;
+        queue[tail++] = root;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int to = 0; to < count; to++) {
+                if (base[v] == base[to] || mate[v] == to || !allowed(players[v], players[to], false)) {
+                    continue;
+                }
+                if (to == root || (mate[to] >= 0 && parent[mate[to]] >= 0)) {
+                    int blossomBase = commonBase(v, to, mate, parent, base, onPath);
+                    Arrays.fill(inBlossom, false);
+                    markBlossom(v, blossomBase, to, mate, parent, base, inBlossom);
+                    markBlossom(to, blossomBase, v, mate, parent, base, inBlossom);
+                    for (int i = 0; i < count; i++) {
+                        if (inBlossom[base[i]]) {
+                            base[i] = blossomBase;
+                            if (!inTree[i]) {
+                                inTree[i] = true;
+                                queue[tail++] = i;
+                            }
+                        }
+                    }
+                } else if (parent[to] < 0) {
+                    parent[to] = v;
+                    if (mate[to] < 0) {
+                        return to;
+                    }
+                    inTree[mate[to]] = true;
+                    queue[tail++] = mate[to];
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int commonBase(int a, int b, int[] mate, int[] parent, int[] base, boolean[] onPath) {
+        Arrays.fill(onPath, false);
+        while (true) {
+            a = base[a];
+            onPath[a] = true;
+            if (mate[a] < 0) {
+                break;
+            }
+            a = parent[mate[a]];
+        }
+        while (true) {
+            b = base[b];
+            if (onPath[b]) {
+                return b;
+            }
+            b = parent[mate[b]];
+        }
+    }
+
+    private static void markBlossom(int v, int blossomBase, int child, int[] mate, int[] parent, int[] base,
+                                    boolean[] inBlossom) {
+        while (base[v] != blossomBase) {
+            inBlossom[base[v]] = true;
+            inBlossom[base[mate[v]]] = true;
+            parent[v] = child;
+            child = mate[v];
+            v = parent[mate[v]];
+        }
+    }
+
+    private boolean allowed(int a, int b, boolean checkVenues) {
+        if (havePlayed(a, b)) {
+            return false;
+        }
+        if (!checkVenues) {
+            return true;
+        }
+        return !(mustPlayHome(a) && mustPlayHome(b)) && !(mustPlayAway(a) && mustPlayAway(b));
+    }
+
+    private boolean mustPlayHome(int player) {
+        return venueBalance[player] <= -MAX_VENUE_BALANCE
+            || (lastVenue[player] < 0 && venueStreak[player] >= MAX_VENUE_STREAK);
+    }
+
+    private boolean mustPlayAway(int player) {
+        return venueBalance[player] >= MAX_VENUE_BALANCE
+            || (lastVenue[player] > 0 && venueStreak[player] >= MAX_VENUE_STREAK);
+    }
+
+    // Whether a (the higher-ranked player) should be the home side
+    private boolean homeFirst(int a, int b, int round) {
+        if (mustPlayHome(a) || mustPlayAway(b)) {
+            return true;
+        }
+        if (mustPlayHome(b) || mustPlayAway(a)) {
+            return false;
+        }
+        if (venueBalance[a] != venueBalance[b]) {
+            return venueBalance[a] < venueBalance[b];
+        }
+        if (lastVenue[a] != lastVenue[b]) {
+            return lastVenue[a] < lastVenue[b];
+        }
+        // Alternate the top board between rounds
+        return (round & 1) == 1;
+    }
+
+    private void commitPairings(SwissRound round) {
+        int base = roundsPaired * playerCount;
+        if (base + playerCount > opponents.length) {
+            opponents = Arrays.copyOf(opponents, opponents.length * 2);
+        }
+        Arrays.fill(opponents, base, base + playerCount, -1);
+        for (int p = 0; p < round.getPairingCount(); p++) {
+            int home = round.home(p);
+            int away = round.away(p);
+            opponents[base + home] = away;
+            opponents[base + away] = home;
+            playVenue(home, (byte) 1);
+            playVenue(away, (byte) -1);
+        }
+        if (round.getByePlayer() >= 0) {
+            hadBye[round.getByePlayer()] = true;
+        }
+        roundsPaired++;
+    }
+
+    private void playVenue(int player, byte venue) {
+        venueBalance[player] += venue;
+        venueStreak[player] = lastVenue[player] == venue ? venueStreak[player] + 1 : 1;
+        lastVenue[player] = venue;
+    }
+}
\ No newline at end of file
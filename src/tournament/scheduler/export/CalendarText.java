@@ -0,0 +1,40 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * ISO date and {@code HH:mm} kickoff strings for the matches of a calendar.
+ * Matches of a round mostly share a day, so the last day's text is reused
+ * and kickoff strings are built once per slot.
+ */
+final class CalendarText {
+    private final ScheduleCalendar calendar;
+    private final String[] kickoffs;
+    private int lastDay = -1;
+    private String lastDate;
+
+    CalendarText(ScheduleCalendar calendar) {
+        this.calendar = calendar;
+        List<LocalTime> slots = calendar.getRules().kickoffSlots();
+        kickoffs = new String[slots.size()];
+        for (int i = 0; i < kickoffs.length; i++) {
+            kickoffs[i] = slots.get(i).toString();
+        }
+    }
+
+    String date(int match) {
+        int day = calendar.getDay(match);
+        if (day != lastDay) {
+            lastDay = day;
+            lastDate = calendar.getDate(match).toString();
+        }
+        return lastDate;
+    }
+
+    String kickoff(int match) {
+        return kickoffs[calendar.getSlot(match)];
+    }
+}
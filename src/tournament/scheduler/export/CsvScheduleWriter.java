@@ -0,0 +1,82 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV with one header row followed by one row per match:
+ * {@code season,round,home,away,date,kickoff,venue}. Date, kickoff and venue
+ * are empty for seasons without a calendar and for unassigned matches.
+ */
+public final class CsvScheduleWriter implements ScheduleWriter {
+    private static final String HEADER = "season,round,home,away,date,kickoff,venue\r\n";
+
+    private final Writer out;
+    private boolean headerWritten;
+
+    public CsvScheduleWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(ExportSeason season) throws IOException {
+        if (!headerWritten) {
+            out.write(HEADER);
+            headerWritten = true;
+        }
+
+        // Escaped once per season; each row is then plain appends
+        String seasonField = escape(season.name());
+        String[] teams = new String[season.teamNames().size()];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = escape(season.teamNames().get(i));
+        }
+        RoundRobinSchedule schedule = season.schedule();
+        ScheduleCalendar calendar = season.calendar();
+        CalendarText calendarText = calendar == null ? null : new CalendarText(calendar);
+
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            out.write(seasonField);
+            out.write(',');
+            out.write(Integer.toString(schedule.round(m)));
+            out.write(',');
+            out.write(teams[schedule.home(m)]);
+            out.write(',');
+            out.write(teams[schedule.away(m)]);
+            out.write(',');
+            if (calendarText != null && calendar.isAssigned(m)) {
+                out.write(calendarText.date(m));
+                out.write(',');
+                out.write(calendarText.kickoff(m));
+                out.write(',');
+                out.write(Integer.toString(calendar.getVenue(m)));
+            } else {
+                out.write(",,");
+            }
+            out.write("\r\n");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    static String escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
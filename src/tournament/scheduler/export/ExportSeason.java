@@ -0,0 +1,29 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.util.List;
+
+/**
+ * A schedule to export. {@code id} identifies the season across exports,
+ * e.g. its database id, and keeps calendar event UIDs apart between seasons
+ * that share a name. {@code teamNames} is indexed by the team indexes of the
+ * schedule; {@code calendar} may be null, in which case dates, kickoff times
+ * and venues are left empty.
+ */
+public record ExportSeason(String id, String name, List<String> teamNames, RoundRobinSchedule schedule,
+                           ScheduleCalendar calendar) {
+    public ExportSeason {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Season id is required");
+        }
+        if (teamNames.size() != schedule.getTeamCount()) {
+            throw new IllegalArgumentException("Expected " + schedule.getTeamCount() + " team names, got "
+                + teamNames.size());
+        }
+        if (calendar != null && calendar.getMatchCount() != schedule.getMatchCount()) {
+            throw new IllegalArgumentException("Calendar does not belong to this schedule");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes iCalendar (RFC 5545) files with one event per match of a team.
+ * Kickoffs are floating local times, as the calendar has no time zone, and
+ * matches without a date are left out.
+ */
+public final class IcsExporter {
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    // Content lines longer than this many octets are folded
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Duration matchDuration;
+    private final String stamp;
+
+    public IcsExporter() {
+        this(Duration.ofHours(2));
+    }
+
+    public IcsExporter(Duration matchDuration) {
+        this.matchDuration = matchDuration;
+        this.stamp = UTC_TIME.format(Instant.now());
+    }
+
+    // Returns the number of events written
+    public int writeTeam(ExportSeason season, int team, Writer out) throws IOException {
+        RoundRobinSchedule schedule = season.schedule();
+        int[] matches = new int[schedule.getRoundCount()];
+        int count = 0;
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            if (schedule.home(m) == team || schedule.away(m) == team) {
+                matches[count++] = m;
+            }
+        }
+        return writeCalendar(season, team, matches, 0, count, out);
+    }
+
+    /**
+     * Writes {@code <n>-<team>.ics} for every team into the directory. The
+     * matches are indexed by team once, so each file costs only its own
+     * matches. Returns the number of files written.
+     */
+    public int writeAllTeams(ExportSeason season, Path directory) throws IOException {
+        RoundRobinSchedule schedule = season.schedule();
+        int teamCount = schedule.getTeamCount();
+
+        // Counting sort of match indexes by team, keeping round order
+        int[] start = new int[teamCount + 1];
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            start[schedule.home(m) + 1]++;
+            start[schedule.away(m) + 1]++;
+        }
+        for (int team = 0; team < teamCount; team++) {
+            start[team + 1] += start[team];
+        }
+        int[] next = start.clone();
+        int[] byTeam = new int[start[teamCount]];
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            byTeam[next[schedule.home(m)]++] = m;
+            byTeam[next[schedule.away(m)]++] = m;
+        }
+
+        Files.createDirectories(directory);
+        for (int team = 0; team < teamCount; team++) {
+            Path file = directory.resolve((team + 1) + "-" + fileName(season.teamNames().get(team)) + ".ics");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = ScheduleWriter.bufferedWriter(channel)) {
+                writeCalendar(season, team, byTeam, start[team], start[team + 1], out);
+            }
+        }
+        return teamCount;
+    }
+
+    private int writeCalendar(ExportSeason season, int team, int[] matches, int from, int to,
+                              Writer out) throws IOException {
+        ScheduleCalendar calendar = season.calendar();
+        if (calendar == null) {
+            throw new IllegalArgumentException("Season " + season.name() + " has no calendar");
+        }
+        RoundRobinSchedule schedule = season.schedule();
+        // A fixture is the same event across exports: season, round and both teams
+        String uidPrefix = fileName(season.id()) + "-r";
+
+        writeLine(out, "BEGIN:VCALENDAR");
+        writeLine(out, "VERSION:2.0");
+        writeLine(out, "PRODID:-//Tournament Scheduler//Schedule Export//EN");
+        writeLine(out, "CALSCALE:GREGORIAN");
+        writeLine(out, "X-WR-CALNAME:" + escape(season.teamNames().get(team) + " - " + season.name()));
+
+        int events = 0;
+        for (int i = from; i < to; i++) {
+            int m = matches[i];
+            if (!calendar.isAssigned(m)) {
+                continue;
+            }
+            LocalDateTime kickoff = calendar.getKickoff(m);
+            String home = season.teamNames().get(schedule.home(m));
+            String away = season.teamNames().get(schedule.away(m));
+            writeLine(out, "BEGIN:VEVENT");
+            writeLine(out, "UID:" + uidPrefix + schedule.round(m) + "-" + schedule.home(m) + "-"
+                + schedule.away(m) + "@tournament.scheduler");
+            writeLine(out, "DTSTAMP:" + stamp);
+            writeLine(out, "DTSTART:" + LOCAL_TIME.format(kickoff));
+            writeLine(out, "DTEND:" + LOCAL_TIME.format(kickoff.plus(matchDuration)));
+            writeLine(out, "SUMMARY:" + escape(home + " vs " + away));
+            writeLine(out, "DESCRIPTION:" + escape(season.name() + ", round " + schedule.round(m)));
+            writeLine(out, "END:VEVENT");
+            events++;
+        }
+
+        writeLine(out, "END:VCALENDAR");
+        return events;
+    }
+
+    // Writes a content line, folding it with CRLF + space before it exceeds 75 octets
+    private static void writeLine(Writer out, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int size;
+            if (Character.isHighSurrogate(c) && i + 1 < line.length()) {
+                size = 4;
+            } else if (c < 0x80) {
+                size = 1;
+            } else if (c < 0x800) {
+                size = 2;
+            } else {
+                size = 3;
+            }
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(c);
+            if (size == 4) {
+                out.write(line.charAt(++i));
+            }
+            octets += size;
+        }
+        out.write("\r\n");
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> { }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String fileName(String teamName) {
+        String safe = teamName.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return safe.isEmpty() ? "team" : safe;
+    }
+}
\ No newline at end of file
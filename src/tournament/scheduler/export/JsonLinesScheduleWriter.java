@@ -0,0 +1,87 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines: one object per match, e.g.
+ * {@code {"season":"2026","round":1,"home":"A","away":"B","date":"2026-08-02","kickoff":"15:00","venue":0}}.
+ * Date, kickoff and venue are {@code null} without a calendar or when the
+ * match is unassigned.
+ */
+public final class JsonLinesScheduleWriter implements ScheduleWriter {
+    private final Writer out;
+
+    public JsonLinesScheduleWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(ExportSeason season) throws IOException {
+        // Quoted once per season; each line is then plain appends
+        String seasonPrefix = "{\"season\":" + quote(season.name()) + ",\"round\":";
+        String[] homes = new String[season.teamNames().size()];
+        String[] aways = new String[homes.length];
+        for (int i = 0; i < homes.length; i++) {
+            String name = quote(season.teamNames().get(i));
+            homes[i] = ",\"home\":" + name;
+            aways[i] = ",\"away\":" + name;
+        }
+        RoundRobinSchedule schedule = season.schedule();
+        ScheduleCalendar calendar = season.calendar();
+        CalendarText calendarText = calendar == null ? null : new CalendarText(calendar);
+
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            out.write(seasonPrefix);
+            out.write(Integer.toString(schedule.round(m)));
+            out.write(homes[schedule.home(m)]);
+            out.write(aways[schedule.away(m)]);
+            if (calendarText != null && calendar.isAssigned(m)) {
+                out.write(",\"date\":\"");
+                out.write(calendarText.date(m));
+                out.write("\",\"kickoff\":\"");
+                out.write(calendarText.kickoff(m));
+                out.write("\",\"venue\":");
+                out.write(Integer.toString(calendar.getVenue(m)));
+                out.write("}\n");
+            } else {
+                out.write(",\"date\":null,\"kickoff\":null,\"venue\":null}\n");
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    public static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
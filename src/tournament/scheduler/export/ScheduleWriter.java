@@ -0,0 +1,29 @@
+package tournament.scheduler.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the matches of one or more seasons to a {@link Writer}, one row
+ * per match. Rows are written as they are produced, so memory use does not
+ * grow with the number of matches exported. Closing the writer closes the
+ * underlying output.
+ */
+public interface ScheduleWriter extends Closeable {
+    // Large enough to reach disk speed, small enough to keep memory constant
+    int BUFFER_SIZE = 1 << 16;
+
+    void write(ExportSeason season) throws IOException;
+
+    void flush() throws IOException;
+
+    // UTF-8 text over a channel, e.g. a FileChannel or a socket
+    static Writer bufferedWriter(WritableByteChannel channel) {
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
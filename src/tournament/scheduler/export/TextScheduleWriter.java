@@ -0,0 +1,72 @@
+package tournament.scheduler.export;
+
+import tournament.scheduler.calendar.ScheduleCalendar;
+import tournament.scheduler.engine.RoundRobinSchedule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Human-readable listing, one block per round:
+ * <pre>
+ * Round 1:
+ * -------------------
+ * A vs B
+ * </pre>
+ * With a calendar the round header carries its date and each match its
+ * kickoff time. The season name is printed above its rounds only when
+ * {@code withSeasonHeaders} is set.
+ */
+public final class TextScheduleWriter implements ScheduleWriter {
+    private final Writer out;
+    private final boolean withSeasonHeaders;
+
+    public TextScheduleWriter(Writer out) {
+        this(out, false);
+    }
+
+    public TextScheduleWriter(Writer out, boolean withSeasonHeaders) {
+        this.out = out;
+        this.withSeasonHeaders = withSeasonHeaders;
+    }
+
+    @Override
+    public void write(ExportSeason season) throws IOException {
+        if (withSeasonHeaders) {
+            out.write("\n== " + season.name() + " ==\n");
+        }
+        RoundRobinSchedule schedule = season.schedule();
+        ScheduleCalendar calendar = season.calendar();
+        CalendarText calendarText = calendar == null ? null : new CalendarText(calendar);
+
+        int currentRound = 0;
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            int round = schedule.round(m);
+            if (round != currentRound) {
+                currentRound = round;
+                out.write("\nRound " + round);
+                if (calendar != null && calendar.getRoundDate(round) != null) {
+                    out.write(" (" + calendar.getRoundDate(round) + ")");
+                }
+                out.write(":\n-------------------\n");
+            }
+            out.write(season.teamNames().get(schedule.home(m)));
+            out.write(" vs ");
+            out.write(season.teamNames().get(schedule.away(m)));
+            if (calendarText != null && calendar.isAssigned(m)) {
+                out.write("  " + calendarText.date(m) + " " + calendarText.kickoff(m));
+            }
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package tournament.scheduler.masterdata;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -12,17 +13,31 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import tournament.scheduler.db.AsyncDataAccess;
+import tournament.scheduler.ui.FxAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CountryManagerGUI extends Application {
-    private MasterDataManager dataManager;
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 50;
+    // Pages held in the table; farther ones are dropped and re-fetched
+    private static final int MAX_PAGES = 5;
+    
+    // Opened in the background; only join it from background tasks
+    private CompletableFuture<MasterDataManager> dataManager;
     private TextField isoCodeField;
     private TextField nameField;
+    private Button addButton;
     private TableView<Country> countryTable;
     private ObservableList<Country> countryData;
+    private LazyTableLoader<Country> countryPages;
+    private CompletableFuture<Runnable> countrySubscription;
     
     @Override
     public void start(Stage primaryStage) {
-        dataManager = new MasterDataManager();
+        dataManager = AsyncDataAccess.supply(MasterDataManager::new);
         
         primaryStage.setTitle("Country Manager");
         
@@ -57,7 +72,7 @@ public class CountryManagerGUI extends Application {
         nameField.setPrefWidth(200);
         
         // Add button
-        Button addButton = new Button("Add Country");
+        addButton = new Button("Add Country");
         addButton.setOnAction(e -> addCountry());
         
         // Layout input fields
@@ -109,18 +124,41 @@ public class CountryManagerGUI extends Application {
         
         countryTable.getColumns().addAll(isoColumn, nameColumn, deleteColumn);
         
+        // Loading indicator next to the table header
+        ProgressIndicator loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setMaxSize(16, 16);
+        HBox tableHeader = new HBox(10, new Label("Existing Countries"), loadingIndicator);
+        tableHeader.setAlignment(Pos.CENTER_LEFT);
+        
+        // Pages are fetched on demand as the table scrolls
+        countryPages = new LazyTableLoader<>(countryTable,
+            (anchor, backward, limit) -> backward
+                ? dataManager.join().getCountriesBefore(anchor, limit, null)
+                : dataManager.join().getCountries(anchor, limit, null),
+            MasterDataCache.COUNTRY_ORDER, Country::getId, PAGE_SIZE, PREFETCH_ROWS, MAX_PAGES,
+            error -> showAlert("Error", "Failed to load countries: " + error.getMessage()));
+        loadingIndicator.visibleProperty().bind(countryPages.loadingProperty());
+        
         // Add components to main layout
         mainLayout.getChildren().addAll(
             menuBar,
             new Label("Add New Country"),
             inputGrid,
             new Separator(),
-            new Label("Existing Countries"),
+            tableHeader,
             countryTable
         );
         
+        // Apply changes made in any window row by row instead of reloading
+        countrySubscription = dataManager.thenApply(manager -> manager.addCountryListener(event ->
+            Platform.runLater(() -> countryPages.apply(event))));
+        
         // Load existing countries
         refreshCountryList();
+        primaryStage.setOnHidden(e -> {
+            countryPages.cancel();
+            countrySubscription.thenAccept(Runnable::run);
+        });
         
         Scene scene = new Scene(mainLayout, 600, 400);
         primaryStage.setScene(scene);
@@ -142,29 +180,32 @@ public class CountryManagerGUI extends Application {
             return;
         }
         
-        // Check if already exists
-        if (dataManager.isIsoCodeExists(isoCode)) {
-            showAlert("Duplicate Entry", "A country with ISO code '" + isoCode + "' already exists.");
-            return;
-        }
-        
-        if (dataManager.isCountryNameExists(name)) {
-            showAlert("Duplicate Entry", "A country named '" + name + "' already exists.");
-            return;
-        }
-        
-        // Save country
-        try {
-            Country country = new Country(isoCode, name);
-            dataManager.saveCountry(country);
-            refreshCountryList();
+        // Check for duplicates and save in the background
+        addButton.setDisable(true);
+        FxAsync.supply(() -> {
+            MasterDataManager manager = dataManager.join();
+            if (manager.isIsoCodeExists(isoCode)) {
+                return "A country with ISO code '" + isoCode + "' already exists.";
+            }
+            if (manager.isCountryNameExists(name)) {
+                return "A country named '" + name + "' already exists.";
+            }
+            manager.saveCountry(new Country(isoCode, name));
+            return null;
+        }, duplicateMessage -> {
+            addButton.setDisable(false);
+            if (duplicateMessage != null) {
+                showAlert("Duplicate Entry", duplicateMessage);
+                return;
+            }
             
             // Clear input fields
             isoCodeField.clear();
             nameField.clear();
-        } catch (Exception e) {
-            showAlert("Error", "Failed to save country: " + e.getMessage());
-        }
+        }, error -> {
+            addButton.setDisable(false);
+            showAlert("Error", "Failed to save country: " + error.getMessage());
+        });
     }
     
     private void deleteCountry(Country country) {
@@ -174,18 +215,21 @@ public class CountryManagerGUI extends Application {
         alert.setContentText("Are you sure you want to delete " + country.getName() + "?");
         
         if (alert.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            try {
-                dataManager.deleteCountry(country.getId());
-                refreshCountryList();
-            } catch (Exception e) {
-                showAlert("Error", "Failed to delete country: " + e.getMessage());
-            }
+            FxAsync.run(
+                () -> dataManager.join().deleteCountry(country.getId()),
+                () -> { }, // the table is updated by the change event
+                error -> {
+                    if (error instanceof IllegalStateException) {
+                        showAlert("Country In Use", error.getMessage());
+                    } else {
+                        showAlert("Error", "Failed to delete country: " + error.getMessage());
+                    }
+                });
         }
     }
     
     private void refreshCountryList() {
-        countryData.clear();
-        countryData.addAll(dataManager.getAllCountries());
+        countryPages.reload();
     }
     
     private void showAlert(String title, String message) {
@@ -0,0 +1,193 @@
+package tournament.scheduler.masterdata;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import tournament.scheduler.db.AsyncDataAccess;
+import tournament.scheduler.ui.FxAsync;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fills a {@link TableView} page by page with keyset queries. The next page
+ * is fetched in the background as soon as a row within {@code prefetch}
+ * rows of the loaded end is rendered, so only the pages the user actually
+ * scrolls to are ever read. At most {@code maxPages} pages are held: loading
+ * past that drops the page at the far end, and scrolling back re-fetches it
+ * by keyset from the first loaded row. Must be used from the JavaFX
+ * application thread.
+ */
+final class LazyTableLoader<T> {
+
+    @FunctionalInterface
+    interface PageQuery<T> {
+        // Rows after the given one (null for the first page), or right before it, in table order
+        List<T> fetch(T anchor, boolean backward, int limit);
+    }
+
+    private final TableView<T> table;
+    private final ObservableList<T> items;
+    private final PageQuery<T> query;
+    private final Comparator<? super T> order;
+    private final ToIntFunction<? super T> idOf;
+    private final int pageSize;
+    private final int prefetch;
+    private final int maxRows;
+    private final Consumer<Throwable> onError;
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    private CompletableFuture<List<T>> inFlight;
+    // The loaded rows reach the first row, or the last row, of the whole table
+    private boolean atStart = true;
+    private boolean exhausted;
+
+    LazyTableLoader(TableView<T> table, PageQuery<T> query, Comparator<? super T> order,
+                    ToIntFunction<? super T> idOf, int pageSize, int prefetch, int maxPages,
+                    Consumer<Throwable> onError) {
+        if (maxPages < 2) {
+            throw new IllegalArgumentException("At least 2 pages must be kept, got " + maxPages);
+        }
+        this.table = table;
+        this.items = table.getItems();
+        this.query = query;
+        this.order = order;
+        this.idOf = idOf;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.maxRows = maxPages * pageSize;
+        this.onError = onError;
+
+        // Rows are only created for visible indexes, so rendering one near
+        // either end means the user is about to scroll past the loaded data
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= items.size() - prefetch) {
+                    loadNextPage();
+                } else if (index >= 0 && index < prefetch) {
+                    loadPreviousPage();
+                }
+            }
+        });
+    }
+
+    // Drops everything loaded so far and starts again from the first page
+    void reload() {
+        cancel();
+        items.clear();
+        atStart = true;
+        exhausted = false;
+        loadNextPage();
+    }
+
+    void loadNextPage() {
+        if (inFlight != null || exhausted) {
+            return;
+        }
+        load(items.isEmpty() ? null : items.get(items.size() - 1), false);
+    }
+
+    void loadPreviousPage() {
+        if (inFlight != null || atStart || items.isEmpty()) {
+            return;
+        }
+        load(items.get(0), true);
+    }
+
+    private void load(T anchor, boolean backward) {
+        loading.set(true);
+        CompletableFuture<List<T>> future = AsyncDataAccess.supply(() -> query.fetch(anchor, backward, pageSize));
+        inFlight = future;
+        future.whenCompleteAsync((page, error) -> {
+            if (future != inFlight) {
+                return; // superseded by a reload
+            }
+            inFlight = null;
+            loading.set(false);
+            if (error != null) {
+                onError.accept(FxAsync.unwrap(error));
+                return;
+            }
+            int first = firstVisibleIndex();
+            if (backward) {
+                atStart = page.size() < pageSize;
+                items.addAll(0, page);
+                trim(items.size() - maxRows, false);
+                // Keep the same rows in view after the insert above them
+                scrollTo(first, page.size(), !page.isEmpty());
+            } else {
+                exhausted = page.size() < pageSize;
+                items.addAll(page);
+                int dropped = trim(items.size() - maxRows, true);
+                scrollTo(first, -dropped, dropped > 0);
+            }
+        }, FxAsync.FX_THREAD);
+    }
+
+    // Removes rows from the start or the end; they are re-fetched when scrolled back to
+    private int trim(int excess, boolean fromStart) {
+        if (excess <= 0) {
+            return 0;
+        }
+        if (fromStart) {
+            items.remove(0, excess);
+            atStart = false;
+        } else {
+            items.remove(items.size() - excess, items.size());
+            exhausted = false;
+        }
+        return excess;
+    }
+
+    private void scrollTo(int first, int shift, boolean moved) {
+        if (moved && first >= 0) {
+            table.scrollTo(Math.max(0, Math.min(items.size() - 1, first + shift)));
+        }
+    }
+
+    private int firstVisibleIndex() {
+        if (table.lookup(".virtual-flow") instanceof VirtualFlow<?> flow && flow.getFirstVisibleCell() != null) {
+            return flow.getFirstVisibleCell().getIndex();
+        }
+        return -1;
+    }
+
+    /**
+     * Applies a change event. Rows sorting outside the loaded range are left
+     * for the page that will contain them, so they are not shown twice.
+     */
+    void apply(MasterDataEvent<T> event) {
+        T entity = event.getEntity();
+        boolean beyondLoaded = !exhausted
+            && (items.isEmpty() || order.compare(entity, items.get(items.size() - 1)) > 0);
+        boolean beforeLoaded = !atStart && !items.isEmpty() && order.compare(entity, items.get(0)) < 0;
+        if ((beyondLoaded || beforeLoaded) && event.getType() != MasterDataEvent.Type.DELETED) {
+            if (event.getType() == MasterDataEvent.Type.UPDATED) {
+                int id = idOf.applyAsInt(entity);
+                items.removeIf(item -> idOf.applyAsInt(item) == id);
+            }
+            return;
+        }
+        MasterDataListUpdater.apply(items, event, order, idOf);
+    }
+
+    void cancel() {
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        loading.set(false);
+    }
+
+    ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+}
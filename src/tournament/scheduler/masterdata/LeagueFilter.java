@@ -0,0 +1,25 @@
+package tournament.scheduler.masterdata;
+
+/**
+ * Optional restrictions for paged league queries. A {@code null} field
+ * means "no restriction".
+ */
+public class LeagueFilter {
+    public static final LeagueFilter NONE = new LeagueFilter(null, null);
+
+    private final String countryCode;
+    private final String nameContains;
+
+    public LeagueFilter(String countryCode, String nameContains) {
+        this.countryCode = countryCode;
+        this.nameContains = nameContains == null || nameContains.isBlank() ? null : nameContains.trim();
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public String getNameContains() {
+        return nameContains;
+    }
+}
@@ -1,27 +1,57 @@
 package tournament.scheduler.masterdata;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import tournament.scheduler.DatabaseManager;
+import tournament.scheduler.db.AsyncDataAccess;
+import tournament.scheduler.season.SeasonGenerator;
+import tournament.scheduler.ui.CoalescingLoader;
+import tournament.scheduler.ui.FxAsync;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class LeagueManagerGUI extends Application {
-    private MasterDataManager dataManager;
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 50;
+    // Pages held in the table; farther ones are dropped and re-fetched
+    private static final int MAX_PAGES = 5;
+    private static final int DEFAULT_TEAMS_PER_LEAGUE = 18;
+    
+    // Opened in the background; only join it from background tasks
+    private CompletableFuture<MasterDataManager> dataManager;
     private ComboBox<Country> countryComboBox;
     private TextField nameField;
     private Spinner<Integer> hierarchyLevelSpinner;
+    private Button addButton;
     private TableView<League> leagueTable;
     private ObservableList<League> leagueData;
+    private TextField filterField;
+    private LazyTableLoader<League> leaguePages;
+    // Read by background page queries
+    private volatile LeagueFilter leagueFilter = LeagueFilter.NONE;
+    private CoalescingLoader<List<Country>> countryLoader;
+    private CompletableFuture<Runnable> leagueSubscription;
+    private CompletableFuture<Runnable> countrySubscription;
+    private Menu scheduleMenu;
+    private Label statusLabel;
     
     @Override
     public void start(Stage primaryStage) {
-        dataManager = new MasterDataManager();
+        dataManager = AsyncDataAccess.supply(MasterDataManager::new);
         
         primaryStage.setTitle("League Manager");
         
@@ -35,7 +65,22 @@ public class LeagueManagerGUI extends Application {
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> primaryStage.close());
         fileMenu.getItems().add(exitItem);
-        menuBar.getMenus().add(fileMenu);
+        
+        // Season generation for a country's pyramid or for every league
+        scheduleMenu = new Menu("Schedule");
+        MenuItem countrySeasonsItem = new MenuItem("Generate Seasons for Selected Country");
+        countrySeasonsItem.setOnAction(e -> {
+            Country country = countryComboBox.getValue();
+            if (country == null) {
+                showAlert("Input Error", "Please select a country.");
+                return;
+            }
+            generateSeasons(country.getIsoCode());
+        });
+        MenuItem allSeasonsItem = new MenuItem("Generate Seasons for All Leagues");
+        allSeasonsItem.setOnAction(e -> generateSeasons(null));
+        scheduleMenu.getItems().addAll(countrySeasonsItem, allSeasonsItem);
+        menuBar.getMenus().addAll(fileMenu, scheduleMenu);
         
         // Create input section
         GridPane inputGrid = new GridPane();
@@ -49,9 +94,13 @@ public class LeagueManagerGUI extends Application {
         countryComboBox.setPromptText("Select Country");
         countryComboBox.setPrefWidth(200);
         
-        // Load countries into combo box
-        ObservableList<Country> countries = FXCollections.observableArrayList(dataManager.getAllCountries());
+        // Load countries into combo box in the background
+        ObservableList<Country> countries = FXCollections.observableArrayList();
         countryComboBox.setItems(countries);
+        countryLoader = new CoalescingLoader<>(
+            () -> dataManager.join().getAllCountries(),
+            countries::setAll,
+            error -> showAlert("Error", "Failed to load countries: " + error.getMessage()));
         
         // Custom cell factory to display country name with ISO code
         countryComboBox.setCellFactory(lv -> new ListCell<Country>() {
@@ -79,7 +128,7 @@ public class LeagueManagerGUI extends Application {
         hierarchyLevelSpinner.setPrefWidth(100);
         
         // Add button
-        Button addButton = new Button("Add League");
+        addButton = new Button("Add League");
         addButton.setOnAction(e -> addLeague());
         
         // Layout input fields
@@ -137,18 +186,62 @@ public class LeagueManagerGUI extends Application {
         
         leagueTable.getColumns().addAll(countryColumn, nameColumn, hierarchyColumn, deleteColumn);
         
+        // Loading indicator next to the table header
+        ProgressIndicator loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setMaxSize(16, 16);
+        
+        // Name filter; every change restarts paging from the first page
+        filterField = new TextField();
+        filterField.setPromptText("Filter by name");
+        filterField.textProperty().addListener((obs, oldText, newText) -> {
+            leagueFilter = new LeagueFilter(null, newText);
+            refreshLeagueList();
+        });
+        
+        HBox tableHeader = new HBox(10, new Label("Existing Leagues"), filterField, loadingIndicator);
+        tableHeader.setAlignment(Pos.CENTER_LEFT);
+        
+        // Pages are fetched on demand as the table scrolls
+        leaguePages = new LazyTableLoader<>(leagueTable,
+            (anchor, backward, limit) -> backward
+                ? dataManager.join().getLeaguesBefore(anchor, limit, leagueFilter)
+                : dataManager.join().getLeagues(anchor, limit, leagueFilter),
+            MasterDataCache.LEAGUE_ORDER, League::getId, PAGE_SIZE, PREFETCH_ROWS, MAX_PAGES,
+            error -> showAlert("Error", "Failed to load leagues: " + error.getMessage()));
+        loadingIndicator.visibleProperty().bind(
+            leaguePages.loadingProperty().or(countryLoader.loadingProperty()));
+        
+        // Season generation progress and results
+        statusLabel = new Label();
+        
         // Add components to main layout
         mainLayout.getChildren().addAll(
             menuBar,
             new Label("Add New League"),
             inputGrid,
             new Separator(),
-            new Label("Existing Leagues"),
-            leagueTable
+            tableHeader,
+            leagueTable,
+            statusLabel
         );
         
-        // Load existing leagues
+        // Apply changes made in any window row by row instead of reloading,
+        // including countries added or removed in the country window
+        leagueSubscription = dataManager.thenApply(manager -> manager.addLeagueListener(event ->
+            Platform.runLater(() -> applyLeagueEvent(event))));
+        countrySubscription = dataManager.thenApply(manager -> manager.addCountryListener(event ->
+            Platform.runLater(() -> MasterDataListUpdater.apply(
+                countries, event, MasterDataCache.COUNTRY_ORDER, Country::getId))));
+        
+        // Load countries and existing leagues
+        countryLoader.request();
         refreshLeagueList();
+        primaryStage.setOnHidden(e -> {
+            countryLoader.cancel();
+            leaguePages.cancel();
+            leagueSubscription.thenAccept(Runnable::run);
+            countrySubscription.thenAccept(Runnable::run);
+        });
         
         Scene scene = new Scene(mainLayout, 800, 600);
         primaryStage.setScene(scene);
@@ -171,24 +264,30 @@ public class LeagueManagerGUI extends Application {
             return;
         }
         
-        // Check if league already exists for this country
-        if (dataManager.isLeagueExists(selectedCountry.getIsoCode(), name)) {
-            showAlert("Duplicate Entry", "This league already exists for the selected country.");
-            return;
-        }
-        
-        // Save league
-        try {
-            League league = new League(selectedCountry.getIsoCode(), name, hierarchyLevel);
-            dataManager.saveLeague(league);
-            refreshLeagueList();
+        // Check for duplicates and save in the background
+        String countryCode = selectedCountry.getIsoCode();
+        addButton.setDisable(true);
+        FxAsync.supply(() -> {
+            MasterDataManager manager = dataManager.join();
+            if (manager.isLeagueExists(countryCode, name)) {
+                return false;
+            }
+            manager.saveLeague(new League(countryCode, name, hierarchyLevel));
+            return true;
+        }, saved -> {
+            addButton.setDisable(false);
+            if (!saved) {
+                showAlert("Duplicate Entry", "This league already exists for the selected country.");
+                return;
+            }
             
             // Clear input fields
             nameField.clear();
             hierarchyLevelSpinner.getValueFactory().setValue(1);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to save league: " + e.getMessage());
-        }
+        }, error -> {
+            addButton.setDisable(false);
+            showAlert("Error", "Failed to save league: " + error.getMessage());
+        });
     }
     
     private void deleteLeague(League league) {
@@ -198,18 +297,82 @@ public class LeagueManagerGUI extends Application {
         alert.setContentText("Are you sure you want to delete " + league.getName() + "?");
         
         if (alert.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            try {
-                dataManager.deleteLeague(league.getId());
-                refreshLeagueList();
-            } catch (Exception e) {
-                showAlert("Error", "Failed to delete league: " + e.getMessage());
-            }
+            FxAsync.run(
+                () -> dataManager.join().deleteLeague(league.getId()),
+                () -> { }, // the table is updated by the change event
+                error -> showAlert("Error", "Failed to delete league: " + error.getMessage()));
+        }
+    }
+    
+    private void generateSeasons(String countryCode) {
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(DEFAULT_TEAMS_PER_LEAGUE));
+        dialog.setTitle("Generate Seasons");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Teams per league:");
+        int teamsPerLeague;
+        try {
+            teamsPerLeague = Integer.parseInt(dialog.showAndWait().orElse("").trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (teamsPerLeague < 2) {
+            showAlert("Input Error", "A league needs at least 2 teams.");
+            return;
         }
+        
+        // Progress arrives once per league; only the latest text is shown, and at
+        // most one update is queued on the FX thread at a time
+        AtomicReference<String> pendingStatus = new AtomicReference<>();
+        SeasonGenerator.ProgressListener progress = (completed, total, timing) -> {
+            String text = String.format("Generated %d of %d seasons (%s: %.1f ms)", completed, total,
+                timing.league().getName(), (timing.generateNanos() + timing.writeNanos()) / 1e6);
+            if (pendingStatus.getAndSet(text) == null) {
+                Platform.runLater(() -> statusLabel.setText(pendingStatus.getAndSet(null)));
+            }
+        };
+        
+        scheduleMenu.setDisable(true);
+        statusLabel.setText("Generating seasons...");
+        FxAsync.supply(() -> {
+            MasterDataManager manager = dataManager.join();
+            List<League> leagues = countryCode == null
+                ? manager.getAllLeagues()
+                : manager.getLeaguesByCountry(countryCode);
+            SeasonGenerator generator = new SeasonGenerator(new DatabaseManager(), teamsPerLeague, 2);
+            return generator.generateAll(leagues, "Season " + Year.now(), progress);
+        }, report -> {
+            scheduleMenu.setDisable(false);
+            statusLabel.setText(String.format("Generated %d seasons (%d matches) in %.0f ms using %d transactions; %d failed",
+                report.timings().size() - report.failedCount(), report.matchCount(),
+                report.elapsedNanos() / 1e6, report.transactions(), report.failedCount()));
+            report.timings().stream()
+                .filter(timing -> !timing.succeeded())
+                .findFirst()
+                .ifPresent(timing -> showAlert("Error", "Failed to generate a season for "
+                    + timing.league().getName() + ": " + timing.error()));
+        }, error -> {
+            scheduleMenu.setDisable(false);
+            statusLabel.setText("");
+            showAlert("Error", "Failed to generate seasons: " + error.getMessage());
+        });
     }
     
     private void refreshLeagueList() {
-        leagueData.clear();
-        leagueData.addAll(dataManager.getAllLeagues());
+        leaguePages.reload();
+    }
+    
+    private void applyLeagueEvent(MasterDataEvent<League> event) {
+        // Rows hidden by the name filter stay hidden; an update that no longer
+        // matches removes the row
+        String filterText = leagueFilter.getNameContains();
+        if (filterText != null && event.getType() != MasterDataEvent.Type.DELETED
+                && !event.getEntity().getName().toLowerCase().contains(filterText.toLowerCase())) {
+            if (event.getType() == MasterDataEvent.Type.UPDATED) {
+                leaguePages.apply(new MasterDataEvent<>(MasterDataEvent.Type.DELETED, event.getEntity()));
+            }
+            return;
+        }
+        leaguePages.apply(event);
     }
     
     private void showAlert(String title, String message) {
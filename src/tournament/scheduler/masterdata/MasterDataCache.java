@@ -0,0 +1,240 @@
+package tournament.scheduler.masterdata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of all countries and leagues. The first lookup loads
+ * both tables; after that existence checks are hash lookups and list loads
+ * come from pre-sorted indexes. {@link MasterDataManager} keeps the cache
+ * current on every write; changes made by another process are only seen
+ * after {@link #invalidate()}.
+ */
+public class MasterDataCache {
+    static final Comparator<Country> COUNTRY_ORDER = Comparator.comparing(Country::getName);
+
+    // Same order as "ORDER BY country_code, hierarchy_level", ties broken by id
+    static final Comparator<League> LEAGUE_ORDER = Comparator
+        .comparing(League::getCountryCode)
+        .thenComparingInt(League::getHierarchyLevel)
+        .thenComparingInt(League::getId);
+
+    private final Supplier<List<Country>> countryLoader;
+    private final Supplier<List<League>> leagueLoader;
+
+    private final Map<Integer, Country> countriesById = new HashMap<>();
+    private final Map<String, Country> countriesByIsoCode = new HashMap<>();
+    // Names are unique, so this doubles as the "ORDER BY name" index
+    private final TreeMap<String, Country> countriesByName = new TreeMap<>();
+
+    private final Map<Integer, League> leaguesById = new HashMap<>();
+    private final Map<LeagueKey, League> leaguesByKey = new HashMap<>();
+    private final Map<String, TreeSet<League>> leaguesByCountry = new HashMap<>();
+    private final TreeSet<League> leaguesInOrder = new TreeSet<>(LEAGUE_ORDER);
+
+    private boolean loaded;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public MasterDataCache(Supplier<List<Country>> countryLoader, Supplier<List<League>> leagueLoader) {
+        this.countryLoader = countryLoader;
+        this.leagueLoader = leagueLoader;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            hits.increment();
+            return;
+        }
+        misses.increment();
+        List<Country> countries = countryLoader.get();
+        List<League> leagues = leagueLoader.get();
+        clear();
+        for (Country country : countries) {
+            indexCountry(country);
+        }
+        for (League league : leagues) {
+            indexLeague(league);
+        }
+        loads.increment();
+        loaded = true;
+    }
+
+    private void clear() {
+        countriesById.clear();
+        countriesByIsoCode.clear();
+        countriesByName.clear();
+        leaguesById.clear();
+        leaguesByKey.clear();
+        leaguesByCountry.clear();
+        leaguesInOrder.clear();
+    }
+
+    // Countries
+
+    public synchronized List<Country> getAllCountries() {
+        ensureLoaded();
+        return new ArrayList<>(countriesByName.values());
+    }
+
+    public synchronized Country getCountry(int id) {
+        ensureLoaded();
+        return countriesById.get(id);
+    }
+
+    public synchronized Country getCountryByIsoCode(String isoCode) {
+        ensureLoaded();
+        return countriesByIsoCode.get(isoCode);
+    }
+
+    public synchronized boolean containsIsoCode(String isoCode) {
+        ensureLoaded();
+        return countriesByIsoCode.containsKey(isoCode);
+    }
+
+    public synchronized boolean containsCountryName(String name) {
+        ensureLoaded();
+        return countriesByName.containsKey(name);
+    }
+
+    synchronized void putCountry(Country country) {
+        if (loaded) {
+            Country previous = countriesById.get(country.getId());
+            if (previous == country) {
+                // Changed in place, so its old keys are unknown
+                int id = country.getId();
+                countriesByIsoCode.values().removeIf(c -> c.getId() == id);
+                countriesByName.values().removeIf(c -> c.getId() == id);
+            } else {
+                removeCountryIndexes(previous);
+            }
+            indexCountry(country);
+        }
+    }
+
+    synchronized void removeCountry(int id) {
+        if (loaded) {
+            removeCountryIndexes(countriesById.get(id));
+        }
+    }
+
+    private void indexCountry(Country country) {
+        countriesById.put(country.getId(), country);
+        countriesByIsoCode.put(country.getIsoCode(), country);
+        countriesByName.put(country.getName(), country);
+    }
+
+    private void removeCountryIndexes(Country country) {
+        if (country == null) {
+            return;
+        }
+        countriesById.remove(country.getId());
+        countriesByIsoCode.remove(country.getIsoCode());
+        countriesByName.remove(country.getName());
+    }
+
+    // Leagues
+
+    public synchronized List<League> getAllLeagues() {
+        ensureLoaded();
+        return new ArrayList<>(leaguesInOrder);
+    }
+
+    public synchronized List<League> getLeaguesByCountry(String countryCode) {
+        ensureLoaded();
+        TreeSet<League> leagues = leaguesByCountry.get(countryCode);
+        return leagues == null ? Collections.emptyList() : new ArrayList<>(leagues);
+    }
+
+    public synchronized League getLeague(int id) {
+        ensureLoaded();
+        return leaguesById.get(id);
+    }
+
+    public synchronized boolean containsLeague(String countryCode, String name) {
+        ensureLoaded();
+        return leaguesByKey.containsKey(new LeagueKey(countryCode, name));
+    }
+
+    synchronized void putLeague(League league) {
+        if (loaded) {
+            League previous = leaguesById.get(league.getId());
+            if (previous == league) {
+                // Changed in place, so its old keys and sort position are unknown
+                int id = league.getId();
+                leaguesByKey.values().removeIf(l -> l.getId() == id);
+                leaguesByCountry.values().forEach(set -> set.removeIf(l -> l.getId() == id));
+                leaguesByCountry.values().removeIf(TreeSet::isEmpty);
+                leaguesInOrder.removeIf(l -> l.getId() == id);
+            } else {
+                removeLeagueIndexes(previous);
+            }
+            indexLeague(league);
+        }
+    }
+
+    synchronized void removeLeague(int id) {
+        if (loaded) {
+            removeLeagueIndexes(leaguesById.get(id));
+        }
+    }
+
+    private void indexLeague(League league) {
+        leaguesById.put(league.getId(), league);
+        leaguesByKey.put(new LeagueKey(league.getCountryCode(), league.getName()), league);
+        leaguesByCountry.computeIfAbsent(league.getCountryCode(), code -> new TreeSet<>(LEAGUE_ORDER)).add(league);
+        leaguesInOrder.add(league);
+    }
+
+    private void removeLeagueIndexes(League league) {
+        if (league == null) {
+            return;
+        }
+        leaguesById.remove(league.getId());
+        leaguesByKey.remove(new LeagueKey(league.getCountryCode(), league.getName()));
+        TreeSet<League> byCountry = leaguesByCountry.get(league.getCountryCode());
+        if (byCountry != null) {
+            byCountry.remove(league);
+            if (byCountry.isEmpty()) {
+                leaguesByCountry.remove(league.getCountryCode());
+            }
+        }
+        leaguesInOrder.remove(league);
+    }
+
+    // Drops everything; the next lookup reloads from the database
+    public synchronized void invalidate() {
+        loaded = false;
+        clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MasterDataCache: %d hits, %d misses, %d loads", getHitCount(), getMissCount(), getLoadCount());
+    }
+
+    private record LeagueKey(String countryCode, String name) {
+    }
+}
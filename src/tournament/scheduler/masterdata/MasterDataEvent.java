@@ -0,0 +1,34 @@
+package tournament.scheduler.masterdata;
+
+/**
+ * A single change to a country or league, published by
+ * {@link MasterDataManager} after the database write succeeded.
+ */
+public final class MasterDataEvent<T> {
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final T entity;
+
+    public MasterDataEvent(Type type, T entity) {
+        this.type = type;
+        this.entity = entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entity;
+    }
+}
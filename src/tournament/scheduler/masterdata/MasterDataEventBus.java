@@ -0,0 +1,45 @@
+package tournament.scheduler.masterdata;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process change notifications for master data. Listeners are called on
+ * the thread that performed the write, so UI listeners must hand the event
+ * over to their own thread.
+ */
+public class MasterDataEventBus {
+    private final List<Consumer<MasterDataEvent<Country>>> countryListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<MasterDataEvent<League>>> leagueListeners = new CopyOnWriteArrayList<>();
+
+    // Returns an action that removes the listener again
+    public Runnable addCountryListener(Consumer<MasterDataEvent<Country>> listener) {
+        countryListeners.add(listener);
+        return () -> countryListeners.remove(listener);
+    }
+
+    public Runnable addLeagueListener(Consumer<MasterDataEvent<League>> listener) {
+        leagueListeners.add(listener);
+        return () -> leagueListeners.remove(listener);
+    }
+
+    void publishCountry(MasterDataEvent.Type type, Country country) {
+        publish(countryListeners, new MasterDataEvent<>(type, country));
+    }
+
+    void publishLeague(MasterDataEvent.Type type, League league) {
+        publish(leagueListeners, new MasterDataEvent<>(type, league));
+    }
+
+    private static <T> void publish(List<Consumer<MasterDataEvent<T>>> listeners, MasterDataEvent<T> event) {
+        for (Consumer<MasterDataEvent<T>> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                // One failing window must not undo or hide a successful write
+                System.err.println("Error in master data listener: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tournament.scheduler.masterdata;
+
+import javafx.collections.ObservableList;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Applies a single {@link MasterDataEvent} to a sorted list, touching only
+ * the affected row instead of reloading the whole list. Must be called on
+ * the JavaFX application thread.
+ */
+final class MasterDataListUpdater {
+
+    private MasterDataListUpdater() {
+    }
+
+    static <T> void apply(ObservableList<T> list, MasterDataEvent<T> event,
+                          Comparator<? super T> order, ToIntFunction<? super T> idOf) {
+        T entity = event.getEntity();
+        switch (event.getType()) {
+            case INSERTED -> {
+                if (indexOf(list, entity, order, idOf) < 0) {
+                    insertSorted(list, entity, order);
+                }
+            }
+            case UPDATED -> {
+                int index = indexOf(list, entity, order, idOf);
+                if (index >= 0) {
+                    list.remove(index);
+                }
+                insertSorted(list, entity, order);
+            }
+            case DELETED -> {
+                int index = indexOf(list, entity, order, idOf);
+                if (index >= 0) {
+                    list.remove(index);
+                }
+            }
+        }
+    }
+
+    private static <T> void insertSorted(List<T> list, T entity, Comparator<? super T> order) {
+        int index = Collections.binarySearch(list, entity, order);
+        list.add(index < 0 ? -index - 1 : index, entity);
+    }
+
+    private static <T> int indexOf(List<T> list, T entity, Comparator<? super T> order, ToIntFunction<? super T> idOf) {
+        int id = idOf.applyAsInt(entity);
+        // Binary search on the sort key first; fall back to a scan when the
+        // row's sort key was changed in place
+        int index = Collections.binarySearch(list, entity, order);
+        if (index >= 0 && idOf.applyAsInt(list.get(index)) == id) {
+            return index;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (idOf.applyAsInt(list.get(i)) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
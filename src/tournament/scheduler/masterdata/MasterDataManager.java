@@ -1,62 +1,90 @@
 package tournament.scheduler.masterdata;
 
+import tournament.scheduler.db.BatchInserter;
+import tournament.scheduler.db.BatchResult;
+import tournament.scheduler.db.ConnectionProvider;
+import tournament.scheduler.db.PooledConnection;
+import tournament.scheduler.db.SchemaMigrator;
+import tournament.scheduler.db.WritePipeline;
+
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class MasterDataManager {
-    private static final String DB_URL = "jdbc:sqlite:tournament.db";
-    
-    static {
-        try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            System.err.println("Error loading SQLite JDBC driver: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
-    }
+    private static final String DB_URL = ConnectionProvider.DEFAULT_URL;
+    
+    // One cache and event bus per database, shared by every window's manager
+    private static final Map<String, MasterDataCache> CACHES = new ConcurrentHashMap<>();
+    private static final Map<String, MasterDataEventBus> EVENT_BUSES = new ConcurrentHashMap<>();
+    
+    private final ConnectionProvider connections;
+    private final MasterDataCache cache;
+    private final MasterDataEventBus events;
+    private final WritePipeline writes;
     
     public MasterDataManager() {
-        initializeDatabase();
-    }
-    
-    private void initializeDatabase() {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
-            // Create countries table if it doesn't exist
-            String createCountriesTable = """
-                CREATE TABLE IF NOT EXISTS countries (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    iso_code TEXT UNIQUE NOT NULL,
-                    name TEXT UNIQUE NOT NULL
-                )
-            """;
-            
-            // Create leagues table if it doesn't exist
-            String createLeaguesTable = """
-                CREATE TABLE IF NOT EXISTS leagues (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    country_code TEXT NOT NULL,
-                    name TEXT NOT NULL,
-                    hierarchy_level INTEGER NOT NULL,
-                    UNIQUE(country_code, name),
-                    FOREIGN KEY(country_code) REFERENCES countries(iso_code)
-                )
-            """;
-            
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(createCountriesTable);
-                stmt.execute(createLeaguesTable);
+        this(DB_URL);
+    }
+    
+    public MasterDataManager(String dbUrl) {
+        this.connections = ConnectionProvider.forUrl(dbUrl);
+        SchemaMigrator.migrate(connections);
+        this.cache = CACHES.computeIfAbsent(dbUrl,
+            url -> new MasterDataCache(
+                () -> queryAllCountries(ConnectionProvider.forUrl(url)),
+                () -> queryAllLeagues(ConnectionProvider.forUrl(url))));
+        this.events = EVENT_BUSES.computeIfAbsent(dbUrl, url -> new MasterDataEventBus());
+        this.writes = connections.writes();
+    }
+    
+    public ConnectionProvider getConnectionProvider() {
+        return connections;
+    }
+    
+    public MasterDataCache getCache() {
+        return cache;
+    }
+    
+    // Listeners are called on the database writer thread after each change commits, in commit order
+    public Runnable addCountryListener(Consumer<MasterDataEvent<Country>> listener) {
+        return events.addCountryListener(listener);
+    }
+    
+    public Runnable addLeagueListener(Consumer<MasterDataEvent<League>> listener) {
+        return events.addLeagueListener(listener);
+    }
+    
+    // Queues a mutation on the database's single writer; the cache and listeners are updated after commit
+    private <T> CompletableFuture<T> write(String failure, WritePipeline.Write<T> write) {
+        return writes.submit(write).handle((result, error) -> {
+            if (error == null) {
+                return result;
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to initialize database", e);
-        }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(failure, cause);
+        });
     }
     
     // Country management methods
     public void saveCountry(Country country) {
+        WritePipeline.await(saveCountryAsync(country));
+    }
+    
+    public CompletableFuture<Country> saveCountryAsync(Country country) {
         String sql = "INSERT INTO countries (iso_code, name) VALUES (?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return write("Failed to save country", conn -> {
+            PreparedStatement pstmt = conn.prepareReturningKeys(sql);
             
             pstmt.setString(1, country.getIsoCode());
             pstmt.setString(2, country.getName());
@@ -67,18 +95,48 @@ public class MasterDataManager {
                     country.setId(rs.getInt(1));
                 }
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to save country", e);
-        }
+            return country;
+        }).thenApply(saved -> {
+            cache.putCountry(saved);
+            events.publishCountry(MasterDataEvent.Type.INSERTED, saved);
+            return saved;
+        });
+    }
+    
+    // Inserts all countries in one transaction; duplicate ISO codes or names are reported, not thrown
+    public BatchResult<Country> saveCountries(Collection<Country> countries) {
+        return WritePipeline.await(saveCountriesAsync(countries));
+    }
+    
+    public CompletableFuture<BatchResult<Country>> saveCountriesAsync(Collection<Country> countries) {
+        String sql = "INSERT INTO countries (iso_code, name) VALUES (?, ?)";
+        return write("Failed to save countries", conn ->
+            BatchInserter.insertAll(conn, sql, countries, (pstmt, country) -> {
+                pstmt.setString(1, country.getIsoCode());
+                pstmt.setString(2, country.getName());
+            }, Country::setId)
+        ).thenApply(result -> {
+            int index = 0;
+            for (Country country : countries) {
+                if (result.getId(index++) != -1) {
+                    cache.putCountry(country);
+                    events.publishCountry(MasterDataEvent.Type.INSERTED, country);
+                }
+            }
+            return result;
+        });
     }
     
     public List<Country> getAllCountries() {
+        return cache.getAllCountries();
+    }
+    
+    private static List<Country> queryAllCountries(ConnectionProvider connections) {
         List<Country> countries = new ArrayList<>();
         String sql = "SELECT * FROM countries ORDER BY name";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = connections.acquire();
+             ResultSet rs = conn.prepare(sql).executeQuery()) {
             
             while (rs.next()) {
                 countries.add(new Country(
@@ -94,51 +152,142 @@ public class MasterDataManager {
         return countries;
     }
     
-    public void deleteCountry(int id) {
-        String sql = "DELETE FROM countries WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, id);
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete country", e);
-        }
+    // Keyset-paginated counterpart of getAllCountries, ordered by name
+    public List<Country> getCountries(Country after, int limit, String nameContains) {
+        return queryCountries(after, false, limit, nameContains);
     }
     
-    public boolean isIsoCodeExists(String isoCode) {
-        String sql = "SELECT COUNT(*) FROM countries WHERE iso_code = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Up to limit countries right before the given one, still in name order
+    public List<Country> getCountriesBefore(Country before, int limit, String nameContains) {
+        return queryCountries(before, true, limit, nameContains);
+    }
+    
+    private List<Country> queryCountries(Country anchor, boolean backward, int limit, String nameContains) {
+        StringBuilder sql = new StringBuilder("SELECT id, iso_code, name FROM countries WHERE 1 = 1");
+        if (anchor != null) {
+            sql.append(backward ? " AND name < ?" : " AND name > ?");
+        }
+        if (nameContains != null && !nameContains.isBlank()) {
+            sql.append(" AND name LIKE ? ESCAPE '\\'");
+        }
+        sql.append(backward ? " ORDER BY name DESC LIMIT ?" : " ORDER BY name LIMIT ?");
+        
+        List<Country> countries = new ArrayList<>(limit);
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql.toString());
+            
+            int param = 1;
+            if (anchor != null) {
+                pstmt.setString(param++, anchor.getName());
+            }
+            if (nameContains != null && !nameContains.isBlank()) {
+                pstmt.setString(param++, "%" + escapeLike(nameContains.trim()) + "%");
+            }
+            pstmt.setInt(param, limit);
             
-            pstmt.setString(1, isoCode);
             try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next() && rs.getInt(1) > 0;
+                while (rs.next()) {
+                    countries.add(new Country(
+                        rs.getInt("id"),
+                        rs.getString("iso_code"),
+                        rs.getString("name")
+                    ));
+                }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to check ISO code existence", e);
+            throw new RuntimeException("Failed to get countries", e);
+        }
+        
+        if (backward) {
+            Collections.reverse(countries);
         }
+        return countries;
     }
     
-    public boolean isCountryNameExists(String name) {
-        String sql = "SELECT COUNT(*) FROM countries WHERE name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    public void updateCountry(Country country) {
+        WritePipeline.await(updateCountryAsync(country));
+    }
+    
+    public CompletableFuture<Country> updateCountryAsync(Country country) {
+        String sql = "UPDATE countries SET iso_code = ?, name = ? WHERE id = ?";
+        return write("Failed to update country", conn -> {
+            checkNoLeagues(conn, country.getId(), country.getIsoCode(), "change the ISO code of");
+            PreparedStatement pstmt = conn.prepare(sql);
             
-            pstmt.setString(1, name);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next() && rs.getInt(1) > 0;
+            pstmt.setString(1, country.getIsoCode());
+            pstmt.setString(2, country.getName());
+            pstmt.setInt(3, country.getId());
+            pstmt.executeUpdate();
+            return country;
+        }).thenApply(updated -> {
+            cache.putCountry(updated);
+            events.publishCountry(MasterDataEvent.Type.UPDATED, updated);
+            return updated;
+        });
+    }
+    
+    public void deleteCountry(int id) {
+        WritePipeline.await(deleteCountryAsync(id));
+    }
+    
+    public CompletableFuture<Void> deleteCountryAsync(int id) {
+        String sql = "DELETE FROM countries WHERE id = ?";
+        return write("Failed to delete country", conn -> {
+            checkNoLeagues(conn, id, null, "delete");
+            PreparedStatement pstmt = conn.prepare(sql);
+            
+            pstmt.setInt(1, id);
+            pstmt.executeUpdate();
+            return null;
+        }).thenRun(() -> {
+            Country existing = cache.getCountry(id);
+            cache.removeCountry(id);
+            if (existing != null) {
+                events.publishCountry(MasterDataEvent.Type.DELETED, existing);
+            }
+        });
+    }
+    
+    /**
+     * Leagues reference their country by ISO code and foreign keys are
+     * enforced, so a country with leagues can be neither deleted nor
+     * re-coded. Checked inside the write so queued league inserts count;
+     * {@code newIsoCode} is null for a delete.
+     */
+    private void checkNoLeagues(PooledConnection conn, int countryId, String newIsoCode, String action) throws SQLException {
+        PreparedStatement pstmt = conn.prepare(
+            "SELECT c.name, c.iso_code, COUNT(l.id) FROM countries c LEFT JOIN leagues l ON l.country_code = c.iso_code " +
+            "WHERE c.id = ? GROUP BY c.id");
+        pstmt.setInt(1, countryId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            if (!rs.next() || rs.getString(2).equals(newIsoCode)) {
+                return;
+            }
+            int leagues = rs.getInt(3);
+            if (leagues > 0) {
+                throw new IllegalStateException("Cannot " + action + " " + rs.getString(1) + ": it still has "
+                    + leagues + (leagues == 1 ? " league" : " leagues") + ". Delete or move them first.");
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to check country name existence", e);
         }
     }
     
+    public boolean isIsoCodeExists(String isoCode) {
+        return cache.containsIsoCode(isoCode);
+    }
+    
+    public boolean isCountryNameExists(String name) {
+        return cache.containsCountryName(name);
+    }
+    
     // League management methods
     public void saveLeague(League league) {
+        WritePipeline.await(saveLeagueAsync(league));
+    }
+    
+    public CompletableFuture<League> saveLeagueAsync(League league) {
         String sql = "INSERT INTO leagues (country_code, name, hierarchy_level) VALUES (?, ?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return write("Failed to save league", conn -> {
+            PreparedStatement pstmt = conn.prepareReturningKeys(sql);
             
             pstmt.setString(1, league.getCountryCode());
             pstmt.setString(2, league.getName());
@@ -150,18 +299,53 @@ public class MasterDataManager {
                     league.setId(rs.getInt(1));
                 }
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to save league", e);
-        }
+            return league;
+        }).thenApply(saved -> {
+            cache.putLeague(saved);
+            events.publishLeague(MasterDataEvent.Type.INSERTED, saved);
+            return saved;
+        });
+    }
+    
+    // Inserts all leagues in one transaction; duplicates per country are reported, not thrown
+    public BatchResult<League> saveLeagues(Collection<League> leagues) {
+        return WritePipeline.await(saveLeaguesAsync(leagues));
+    }
+    
+    public CompletableFuture<BatchResult<League>> saveLeaguesAsync(Collection<League> leagues) {
+        String sql = "INSERT INTO leagues (country_code, name, hierarchy_level) VALUES (?, ?, ?)";
+        return write("Failed to save leagues", conn ->
+            BatchInserter.insertAll(conn, sql, leagues, (pstmt, league) -> {
+                pstmt.setString(1, league.getCountryCode());
+                pstmt.setString(2, league.getName());
+                pstmt.setInt(3, league.getHierarchyLevel());
+            }, League::setId)
+        ).thenApply(result -> {
+            int index = 0;
+            for (League league : leagues) {
+                if (result.getId(index++) != -1) {
+                    cache.putLeague(league);
+                    events.publishLeague(MasterDataEvent.Type.INSERTED, league);
+                }
+            }
+            return result;
+        });
     }
     
     public List<League> getAllLeagues() {
+        return cache.getAllLeagues();
+    }
+    
+    public List<League> getLeaguesByCountry(String countryCode) {
+        return cache.getLeaguesByCountry(countryCode);
+    }
+    
+    private static List<League> queryAllLeagues(ConnectionProvider connections) {
         List<League> leagues = new ArrayList<>();
         String sql = "SELECT * FROM leagues ORDER BY country_code, hierarchy_level";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = connections.acquire();
+             ResultSet rs = conn.prepare(sql).executeQuery()) {
             
             while (rs.next()) {
                 leagues.add(new League(
@@ -178,30 +362,133 @@ public class MasterDataManager {
         return leagues;
     }
     
+    /**
+     * Returns up to {@code limit} leagues in table order (country code,
+     * hierarchy level, id) that come after {@code after}, the last row of the
+     * previous page, or the first page when {@code after} is null. Reads the
+     * covering page index directly, so the cost does not depend on how deep
+     * the page is.
+     */
+    public List<League> getLeagues(League after, int limit, LeagueFilter filter) {
+        return queryLeagues(after, false, limit, filter);
+    }
+    
+    // Up to limit leagues right before the given one, still in table order
+    public List<League> getLeaguesBefore(League before, int limit, LeagueFilter filter) {
+        return queryLeagues(before, true, limit, filter);
+    }
+    
+    private List<League> queryLeagues(League anchor, boolean backward, int limit, LeagueFilter filter) {
+        if (filter == null) {
+            filter = LeagueFilter.NONE;
+        }
+        String direction = backward ? " < " : " > ";
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, country_code, name, hierarchy_level FROM leagues WHERE 1 = 1");
+        if (filter.getCountryCode() != null) {
+            sql.append(" AND country_code = ?");
+        }
+        if (anchor != null && filter.getCountryCode() != null) {
+            // Within one country the range must start at the level so the index seek uses it
+            sql.append(" AND (hierarchy_level, id)").append(direction).append("(?, ?)");
+        } else if (anchor != null) {
+            sql.append(" AND (country_code, hierarchy_level, id)").append(direction).append("(?, ?, ?)");
+        }
+        if (filter.getNameContains() != null) {
+            sql.append(" AND name LIKE ? ESCAPE '\\'");
+        }
+        sql.append(backward
+            ? " ORDER BY country_code DESC, hierarchy_level DESC, id DESC LIMIT ?"
+            : " ORDER BY country_code, hierarchy_level, id LIMIT ?");
+        
+        List<League> leagues = new ArrayList<>(limit);
+        try (PooledConnection conn = connections.acquire()) {
+            PreparedStatement pstmt = conn.prepare(sql.toString());
+            
+            int param = 1;
+            if (filter.getCountryCode() != null) {
+                pstmt.setString(param++, filter.getCountryCode());
+            }
+            if (anchor != null) {
+                if (filter.getCountryCode() == null) {
+                    pstmt.setString(param++, anchor.getCountryCode());
+                }
+                pstmt.setInt(param++, anchor.getHierarchyLevel());
+                pstmt.setInt(param++, anchor.getId());
+            }
+            if (filter.getNameContains() != null) {
+                pstmt.setString(param++, "%" + escapeLike(filter.getNameContains()) + "%");
+            }
+            pstmt.setInt(param, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    leagues.add(new League(
+                        rs.getInt("id"),
+                        rs.getString("country_code"),
+                        rs.getString("name"),
+                        rs.getInt("hierarchy_level")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get leagues", e);
+        }
+        
+        if (backward) {
+            Collections.reverse(leagues);
+        }
+        return leagues;
+    }
+    
+    public void updateLeague(League league) {
+        WritePipeline.await(updateLeagueAsync(league));
+    }
+    
+    public CompletableFuture<League> updateLeagueAsync(League league) {
+        String sql = "UPDATE leagues SET country_code = ?, name = ?, hierarchy_level = ? WHERE id = ?";
+        return write("Failed to update league", conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
+            
+            pstmt.setString(1, league.getCountryCode());
+            pstmt.setString(2, league.getName());
+            pstmt.setInt(3, league.getHierarchyLevel());
+            pstmt.setInt(4, league.getId());
+            pstmt.executeUpdate();
+            return league;
+        }).thenApply(updated -> {
+            cache.putLeague(updated);
+            events.publishLeague(MasterDataEvent.Type.UPDATED, updated);
+            return updated;
+        });
+    }
+    
     public void deleteLeague(int id) {
+        WritePipeline.await(deleteLeagueAsync(id));
+    }
+    
+    public CompletableFuture<Void> deleteLeagueAsync(int id) {
         String sql = "DELETE FROM leagues WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return write("Failed to delete league", conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
             
             pstmt.setInt(1, id);
             pstmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete league", e);
-        }
+            return null;
+        }).thenRun(() -> {
+            League existing = cache.getLeague(id);
+            cache.removeLeague(id);
+            if (existing != null) {
+                events.publishLeague(MasterDataEvent.Type.DELETED, existing);
+            }
+        });
     }
     
     public boolean isLeagueExists(String countryCode, String name) {
-        String sql = "SELECT COUNT(*) FROM leagues WHERE country_code = ? AND name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, countryCode);
-            pstmt.setString(2, name);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next() && rs.getInt(1) > 0;
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to check league existence", e);
-        }
+        return cache.containsLeague(countryCode, name);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
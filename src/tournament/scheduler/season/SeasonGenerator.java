@@ -0,0 +1,174 @@
+package tournament.scheduler.season;
+
+import tournament.scheduler.DatabaseManager;
+import tournament.scheduler.SeasonDraft;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.SchedulePatternCache;
+import tournament.scheduler.masterdata.League;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Generates one season per league. Schedules are generated concurrently on
+ * a worker pool and handed to the calling thread, which is the only writer:
+ * it drains whatever is ready and commits it as one transaction, so SQLite
+ * never sees competing writers and syncs once per batch instead of once
+ * per league.
+ *
+ * <p>The master data has no team rosters, so every league is scheduled with
+ * {@code teamsPerLeague} placeholder teams named after the league.
+ */
+public final class SeasonGenerator {
+    // Upper bound on seasons committed in one write transaction
+    private static final int MAX_SEASONS_PER_TRANSACTION = 64;
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        // Called on the writer thread after each league is committed or has failed
+        void onProgress(int completed, int total, LeagueTiming timing);
+    }
+
+    /**
+     * Outcome for one league. {@code writeNanos} is the duration of the
+     * transaction the season was committed in, which it shares with the
+     * other seasons of that batch.
+     */
+    public record LeagueTiming(League league, int seasonId, int matchCount,
+                               long generateNanos, long writeNanos, String error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    public record Report(List<LeagueTiming> timings, int transactions, long elapsedNanos) {
+        public long failedCount() {
+            return timings.stream().filter(timing -> !timing.succeeded()).count();
+        }
+
+        public long matchCount() {
+            return timings.stream().filter(LeagueTiming::succeeded).mapToLong(LeagueTiming::matchCount).sum();
+        }
+    }
+
+    private record Generated(League league, SeasonDraft draft, long generateNanos, String error) {
+    }
+
+    private final DatabaseManager database;
+    private final Executor workers;
+    private final int teamsPerLeague;
+    private final int legs;
+
+    public SeasonGenerator(DatabaseManager database, int teamsPerLeague, int legs) {
+        this(database, ForkJoinPool.commonPool(), teamsPerLeague, legs);
+    }
+
+    public SeasonGenerator(DatabaseManager database, Executor workers, int teamsPerLeague, int legs) {
+        if (teamsPerLeague < 2) {
+            throw new IllegalArgumentException("A league needs at least 2 teams, got " + teamsPerLeague);
+        }
+        if (legs < 1) {
+            throw new IllegalArgumentException("Legs must be positive, got " + legs);
+        }
+        this.database = database;
+        this.workers = workers;
+        this.teamsPerLeague = teamsPerLeague;
+        this.legs = legs;
+    }
+
+    /**
+     * Generates and stores a season named {@code seasonName} for every
+     * league and blocks until all of them are committed or have failed. A
+     * failed league does not stop the others; it is reported in the result.
+     */
+    public Report generateAll(List<League> leagues, String seasonName, ProgressListener listener) {
+        long start = System.nanoTime();
+        int total = leagues.size();
+        BlockingQueue<Generated> ready = new LinkedBlockingQueue<>();
+        for (League league : leagues) {
+            workers.execute(() -> ready.add(generate(league, seasonName)));
+        }
+
+        List<LeagueTiming> timings = new ArrayList<>(total);
+        List<Generated> batch = new ArrayList<>(MAX_SEASONS_PER_TRANSACTION);
+        int transactions = 0;
+        while (timings.size() < total) {
+            try {
+                batch.add(ready.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Season generation interrupted after "
+                    + timings.size() + " of " + total + " leagues");
+            }
+            ready.drainTo(batch, MAX_SEASONS_PER_TRANSACTION - 1);
+            if (write(batch, timings, total, listener)) {
+                transactions++;
+            }
+            batch.clear();
+        }
+
+        return new Report(Collections.unmodifiableList(timings), transactions, System.nanoTime() - start);
+    }
+
+    private Generated generate(League league, String seasonName) {
+        long start = System.nanoTime();
+        try {
+            RoundRobinSchedule schedule = SchedulePatternCache.shared().get(teamsPerLeague, legs);
+            List<String> teamNames = new ArrayList<>(teamsPerLeague);
+            for (int i = 1; i <= teamsPerLeague; i++) {
+                teamNames.add(league.getName() + " Team " + i);
+            }
+            SeasonDraft draft = new SeasonDraft(seasonName, league.getId(), teamNames, schedule);
+            return new Generated(league, draft, System.nanoTime() - start, null);
+        } catch (RuntimeException e) {
+            return new Generated(league, null, System.nanoTime() - start, String.valueOf(e.getMessage()));
+        }
+    }
+
+    // Commits the generated seasons of a batch; returns whether a transaction ran
+    private boolean write(List<Generated> batch, List<LeagueTiming> timings, int total,
+                          ProgressListener listener) {
+        List<SeasonDraft> drafts = new ArrayList<>(batch.size());
+        for (Generated generated : batch) {
+            if (generated.draft() != null) {
+                drafts.add(generated.draft());
+            }
+        }
+
+        int[] ids = new int[0];
+        String writeError = null;
+        long writeStart = System.nanoTime();
+        if (!drafts.isEmpty()) {
+            try {
+                ids = database.saveSeasons(drafts);
+            } catch (RuntimeException e) {
+                writeError = "Write failed: " + e.getMessage();
+            }
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        int next = 0;
+        for (Generated generated : batch) {
+            LeagueTiming timing;
+            if (generated.draft() == null) {
+                timing = new LeagueTiming(generated.league(), -1, 0, generated.generateNanos(), 0, generated.error());
+            } else {
+                int seasonId = writeError == null ? ids[next] : -1;
+                next++;
+                timing = new LeagueTiming(generated.league(), seasonId,
+                    generated.draft().schedule().getMatchCount(), generated.generateNanos(), writeNanos, writeError);
+            }
+            timings.add(timing);
+            if (listener != null) {
+                listener.onProgress(timings.size(), total, timing);
+            }
+        }
+        return !drafts.isEmpty();
+    }
+}
\ No newline at end of file
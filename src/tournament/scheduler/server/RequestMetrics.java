@@ -0,0 +1,78 @@
+package tournament.scheduler.server;
+
+import tournament.scheduler.export.JsonLinesScheduleWriter;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counts and timings per route. Recording is a handful of
+ * {@link LongAdder} increments, so it does not become a point of contention
+ * when many virtual threads finish requests at once.
+ */
+public final class RequestMetrics {
+    private static final class Route {
+        final LongAdder requests = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    public void record(String route, int status, long nanos) {
+        Route r = routes.computeIfAbsent(route, key -> new Route());
+        r.requests.increment();
+        if (status == 304) {
+            r.notModified.increment();
+        } else if (status >= 500) {
+            r.serverErrors.increment();
+        } else if (status >= 400) {
+            r.clientErrors.increment();
+        }
+        r.totalNanos.add(nanos);
+        r.maxNanos.accumulate(nanos);
+    }
+
+    public long getRequestCount(String route) {
+        Route r = routes.get(route);
+        return r == null ? 0 : r.requests.sum();
+    }
+
+    // Snapshot as a JSON object keyed by route, times in milliseconds
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"uptimeSeconds\":").append((System.nanoTime() - startNanos) / 1_000_000_000L)
+            .append(",\"routes\":{");
+        boolean first = true;
+        for (Map.Entry<String, Route> entry : new TreeMap<>(routes).entrySet()) {
+            Route r = entry.getValue();
+            long requests = r.requests.sum();
+            long totalNanos = r.totalNanos.sum();
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append(JsonLinesScheduleWriter.quote(entry.getKey()))
+                .append(":{\"requests\":").append(requests)
+                .append(",\"notModified\":").append(r.notModified.sum())
+                .append(",\"clientErrors\":").append(r.clientErrors.sum())
+                .append(",\"serverErrors\":").append(r.serverErrors.sum())
+                .append(",\"meanMillis\":").append(millis(requests == 0 ? 0 : totalNanos / requests))
+                .append(",\"maxMillis\":").append(millis(r.maxNanos.get()))
+                .append('}');
+        }
+        return sb.append("}}").toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,354 @@
+package tournament.scheduler.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleOptimizer;
+import tournament.scheduler.engine.SchedulePatternCache;
+import tournament.scheduler.masterdata.Country;
+import tournament.scheduler.masterdata.League;
+import tournament.scheduler.masterdata.MasterDataManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+import static tournament.scheduler.export.JsonLinesScheduleWriter.quote;
+
+/**
+ * Local HTTP front end for other tools. Every exchange runs on its own
+ * virtual thread, so a request waiting on SQLite parks cheaply instead of
+ * holding a platform thread. All routes are GET (or HEAD) and answer JSON:
+ * <ul>
+ * <li>{@code /api/schedule?teams=A,B,C&legs=2&seed=42} or {@code ?count=8}</li>
+ * <li>{@code /api/countries}</li>
+ * <li>{@code /api/leagues}, optionally {@code ?country=DE}</li>
+ * <li>{@code /api/metrics}</li>
+ * </ul>
+ * Responses carry a strong ETag over their bytes and honour
+ * {@code If-None-Match} with 304. Master-data bodies are serialized once and
+ * reused until a change is published through {@link MasterDataManager}.
+ */
+public final class ScheduleServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    // Keeps a single request from occupying the server for long
+    private static final int MAX_TEAMS = 1000;
+    private static final long OPTIMIZER_ITERATIONS = 200_000;
+    private static final Duration OPTIMIZER_BUDGET = Duration.ofSeconds(2);
+    private static final String JSON = "application/json; charset=utf-8";
+
+    static {
+        // Headers and body go out as separate writes; with Nagle's algorithm the
+        // body waits for the client's delayed ACK, adding ~40 ms to every response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        Body respond(Map<String, String> query);
+    }
+
+    // A serialized response; etag is null for bodies that must not be revalidated
+    private record Body(byte[] bytes, String etag, long version) {
+        static Body of(String json, long version) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+            return new Body(bytes, "\"" + Integer.toHexString(bytes.length) + "-"
+                + Long.toHexString(crc.getValue()) + "\"", version);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MasterDataManager masterData;
+    private final RequestMetrics metrics = new RequestMetrics();
+    // Bumped on every master-data change; cached bodies of older versions are rebuilt
+    private final AtomicLong masterDataVersion = new AtomicLong();
+    private final Map<String, Body> masterDataBodies = new ConcurrentHashMap<>();
+    private final Runnable removeCountryListener;
+    private final Runnable removeLeagueListener;
+
+    public ScheduleServer(InetSocketAddress address, MasterDataManager masterData) throws IOException {
+        this.masterData = masterData;
+        this.server = HttpServer.create(address, 1024);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+        server.setExecutor(executor);
+        this.removeCountryListener = masterData.addCountryListener(event -> masterDataChanged());
+        this.removeLeagueListener = masterData.addLeagueListener(event -> masterDataChanged());
+
+        route("/api/schedule", this::schedule);
+        route("/api/countries", query -> masterDataBody("countries", this::countriesJson));
+        route("/api/leagues", query -> {
+            if (query.get("country") == null) {
+                return masterDataBody("leagues", () -> leaguesJson(masterData.getAllLeagues()));
+            }
+            // Only known countries get a cached body, so the cache stays bounded by the master data
+            String country = query.get("country").trim().toUpperCase(Locale.ROOT);
+            if (!masterData.isIsoCodeExists(country)) {
+                throw new IllegalArgumentException("Unknown country: " + query.get("country"));
+            }
+            return masterDataBody("leagues:" + country, () -> leaguesJson(masterData.getLeaguesByCountry(country)));
+        });
+        route("/api/metrics", query -> new Body(metrics.toJson().getBytes(StandardCharsets.UTF_8), null, 0));
+        server.createContext("/", exchange -> handle(exchange, "other", null));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        removeCountryListener.run();
+        removeLeagueListener.run();
+        // Gives in-flight exchanges a second to finish
+        server.stop(1);
+        executor.close();
+    }
+
+    private void route(String path, Route route) {
+        server.createContext(path, exchange -> handle(exchange, path,
+            exchange.getRequestURI().getPath().equals(path) ? route : null));
+    }
+
+    private void handle(HttpExchange exchange, String routeName, Route route) {
+        long start = System.nanoTime();
+        int status = 500;
+        try {
+            Headers headers = exchange.getResponseHeaders();
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            Body body;
+            if (route == null) {
+                status = 404;
+                body = error("Not found: " + exchange.getRequestURI().getPath());
+            } else if (!head && !method.equals("GET")) {
+                status = 405;
+                headers.set("Allow", "GET, HEAD");
+                body = error("Method not allowed: " + method);
+            } else {
+                try {
+                    body = route.respond(query(exchange.getRequestURI().getRawQuery()));
+                    status = 200;
+                } catch (IllegalArgumentException e) {
+                    status = 400;
+                    body = error(e.getMessage());
+                }
+            }
+
+            headers.set("Content-Type", JSON);
+            if (status == 200 && body.etag() != null) {
+                headers.set("ETag", body.etag());
+                headers.set("Cache-Control", "no-cache");
+                if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), body.etag())) {
+                    status = 304;
+                }
+            } else {
+                headers.set("Cache-Control", "no-store");
+            }
+            headers.set("Server-Timing", String.format(Locale.ROOT, "app;dur=%.3f",
+                (System.nanoTime() - start) / 1_000_000.0));
+
+            if (status == 304 || head) {
+                exchange.sendResponseHeaders(status, -1);
+            } else {
+                exchange.sendResponseHeaders(status, body.bytes().length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body.bytes());
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to answer
+        } catch (RuntimeException e) {
+            status = 500;
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            try {
+                byte[] bytes = error("Internal error").bytes();
+                exchange.sendResponseHeaders(500, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            } catch (IOException | RuntimeException ignored) {
+                // Headers were already sent
+            }
+        } finally {
+            exchange.close();
+            metrics.record(routeName, status, System.nanoTime() - start);
+        }
+    }
+
+    private Body schedule(Map<String, String> query) {
+        List<String> teams = new ArrayList<>();
+        if (query.containsKey("teams")) {
+            for (String name : query.get("teams").split(",")) {
+                if (!name.isBlank()) {
+                    teams.add(name.strip());
+                }
+            }
+        } else {
+            int count = intParameter(query, "count", 8);
+            if (count > MAX_TEAMS) {
+                throw new IllegalArgumentException("At most " + MAX_TEAMS + " teams, got " + count);
+            }
+            for (int i = 1; i <= count; i++) {
+                teams.add("T" + i);
+            }
+        }
+        if (teams.size() < 2 || teams.size() > MAX_TEAMS) {
+            throw new IllegalArgumentException("Between 2 and " + MAX_TEAMS + " teams required, got " + teams.size());
+        }
+        if (new HashSet<>(teams).size() != teams.size()) {
+            throw new IllegalArgumentException("Team names must be unique");
+        }
+        int legs = intParameter(query, "legs", 2);
+        if (legs < 1 || legs > 4) {
+            throw new IllegalArgumentException("Legs must be between 1 and 4, got " + legs);
+        }
+
+        ScheduleOptimizer.Options options = null;
+        if (query.containsKey("seed")) {
+            long seed;
+            try {
+                seed = Long.parseLong(query.get("seed"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("seed expects a number, got " + query.get("seed"));
+            }
+            // One worker per request: concurrent requests already use the other cores
+            options = ScheduleOptimizer.Options.defaults(seed)
+                .withWorkers(1)
+                .withMaxIterations(OPTIMIZER_ITERATIONS)
+                .withTimeBudget(OPTIMIZER_BUDGET);
+        }
+        // Repeated sizes and seeds skip generation and optimization entirely
+        RoundRobinSchedule schedule = SchedulePatternCache.shared().get(teams.size(), legs, options);
+
+        String[] quoted = new String[teams.size()];
+        StringBuilder sb = new StringBuilder(64 + schedule.getMatchCount() * 40);
+        sb.append("{\"teams\":[");
+        for (int i = 0; i < quoted.length; i++) {
+            quoted[i] = quote(teams.get(i));
+            sb.append(i == 0 ? "" : ",").append(quoted[i]);
+        }
+        sb.append("],\"legs\":").append(legs)
+            .append(",\"rounds\":").append(schedule.getRoundCount())
+            .append(",\"matches\":[");
+        for (int m = 0; m < schedule.getMatchCount(); m++) {
+            sb.append(m == 0 ? "{\"round\":" : ",{\"round\":").append(schedule.round(m))
+                .append(",\"home\":").append(quoted[schedule.home(m)])
+                .append(",\"away\":").append(quoted[schedule.away(m)]).append('}');
+        }
+        return Body.of(sb.append("]}").toString(), 0);
+    }
+
+    private Body masterDataBody(String key, Supplier<String> json) {
+        long version = masterDataVersion.get();
+        Body body = masterDataBodies.get(key);
+        if (body == null || body.version() != version) {
+            // Labelled with the version read before loading, so a change during the load forces a rebuild
+            body = Body.of(json.get(), version);
+            masterDataBodies.put(key, body);
+        }
+        return body;
+    }
+
+    private void masterDataChanged() {
+        masterDataVersion.incrementAndGet();
+        masterDataBodies.clear();
+    }
+
+    private String countriesJson() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Country country : masterData.getAllCountries()) {
+            sb.append(sb.length() == 1 ? "" : ",")
+                .append("{\"id\":").append(country.getId())
+                .append(",\"isoCode\":").append(quote(country.getIsoCode()))
+                .append(",\"name\":").append(quote(country.getName())).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String leaguesJson(List<League> leagues) {
+        StringBuilder sb = new StringBuilder("[");
+        for (League league : leagues) {
+            sb.append(sb.length() == 1 ? "" : ",")
+                .append("{\"id\":").append(league.getId())
+                .append(",\"countryCode\":").append(quote(league.getCountryCode()))
+                .append(",\"name\":").append(quote(league.getName()))
+                .append(",\"hierarchyLevel\":").append(league.getHierarchyLevel()).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static Body error(String message) {
+        return new Body(("{\"error\":" + quote(String.valueOf(message)) + "}").getBytes(StandardCharsets.UTF_8),
+            null, 0);
+    }
+
+    // If-None-Match may list several tags, possibly weak ones
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.strip();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            parameters.putIfAbsent(name, value);
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " expects a number, got " + value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package tournament.scheduler.standings;
+
+import tournament.scheduler.DatabaseManager;
+import tournament.scheduler.Season;
+import tournament.scheduler.engine.RoundRobinEngine;
+import tournament.scheduler.engine.RoundRobinSchedule;
+import tournament.scheduler.engine.ScheduleRepair;
+import tournament.scheduler.masterdata.League;
+import tournament.scheduler.masterdata.MasterDataEvent;
+import tournament.scheduler.masterdata.MasterDataManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live tables for every league in {@link MasterDataManager}, one
+ * {@link StandingsTable} per league built from its latest stored season and
+ * the results saved so far. New results are applied to the table in memory;
+ * callers persist them through {@link DatabaseManager#saveResults}. Only
+ * fixtures of the season that are not cancelled take a result, the same rule
+ * saveResults follows, so the table and the database agree. Tables of
+ * deleted leagues are dropped.
+ */
+public final class LeagueStandings implements AutoCloseable {
+    public record Entry(League league, Season season, StandingsTable table) {
+    }
+
+    private final MasterDataManager masterData;
+    private final DatabaseManager database;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // Away team of each open fixture at (round - 1) * teamCount + home, -1 for none
+    private final Map<Integer, int[]> fixtures = new ConcurrentHashMap<>();
+    private final Runnable removeLeagueListener;
+
+    public LeagueStandings(MasterDataManager masterData, DatabaseManager database) {
+        this.masterData = masterData;
+        this.database = database;
+        this.removeLeagueListener = masterData.addLeagueListener(this::leagueChanged);
+    }
+
+    /**
+     * (Re)builds the tables of all leagues that have a stored season and
+     * returns how many were loaded. Leagues without a season have no table.
+     */
+    public int load() {
+        Map<Integer, Season> seasons = new HashMap<>();
+        for (Season season : database.getLatestLeagueSeasons()) {
+            seasons.put(season.getLeagueId(), season);
+        }
+        entries.clear();
+        fixtures.clear();
+        for (League league : masterData.getAllLeagues()) {
+            Season season = seasons.get(league.getId());
+            if (season == null || season.getTeamCount() < 2) {
+                continue;
+            }
+            int teamCount = season.getTeamCount();
+            int roundCount = season.getLegs() * RoundRobinEngine.roundsPerLeg(teamCount);
+            StandingsTable table = new StandingsTable(teamCount, roundCount);
+            for (MatchResult result : database.getResults(season.getId())) {
+                table.record(result);
+            }
+            RoundRobinSchedule schedule = database.loadSchedule(season);
+            int[] rounds = database.loadMatchRounds(season);
+            int[] open = new int[roundCount * teamCount];
+            Arrays.fill(open, -1);
+            for (int m = 0; m < schedule.getMatchCount(); m++) {
+                if (rounds[m] != ScheduleRepair.CANCELLED_ROUND) {
+                    open[(schedule.round(m) - 1) * teamCount + schedule.home(m)] = schedule.away(m);
+                }
+            }
+            fixtures.put(league.getId(), open);
+            entries.put(league.getId(), new Entry(league, season, table));
+        }
+        return entries.size();
+    }
+
+    /**
+     * Applies a result to the league's table; false if the league has no
+     * table. A result for a match that is not an open fixture of the season
+     * is rejected, as saveResults would store nothing for it.
+     */
+    public boolean record(int leagueId, MatchResult result) {
+        Entry entry = entries.get(leagueId);
+        int[] open = fixtures.get(leagueId);
+        if (entry == null || open == null) {
+            return false;
+        }
+        synchronized (open) {
+            int slot = (result.round() - 1) * entry.season().getTeamCount() + result.home();
+            if (result.round() < 1 || result.round() > entry.table().getRoundCount()
+                    || result.home() < 0 || result.home() >= entry.season().getTeamCount()
+                    || open[slot] != result.away()) {
+                throw new IllegalArgumentException("Round " + result.round() + " of league " + leagueId
+                    + " has no open fixture " + result.home() + " vs " + result.away());
+            }
+            entry.table().record(result);
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the league's table in step with a repair stored through
+     * {@link DatabaseManager#applyRepair}: cancelled fixtures lose their
+     * result and take no new one, and reversed fixtures take results under
+     * their new home team. Postponed fixtures keep their round.
+     */
+    public void applyRepair(int leagueId, ScheduleRepair.Result repair) {
+        Entry entry = entries.get(leagueId);
+        int[] open = fixtures.get(leagueId);
+        if (entry == null || open == null) {
+            return;
+        }
+        int teamCount = entry.season().getTeamCount();
+        synchronized (open) {
+            for (ScheduleRepair.MatchChange change : repair.changes()) {
+                // Results are keyed by the round of the fixture's slot
+                int round = repair.schedule().round(change.match());
+                int base = (round - 1) * teamCount;
+                switch (change.kind()) {
+                    case CANCELLED -> {
+                        open[base + change.home()] = -1;
+                        entry.table().remove(round, change.home());
+                    }
+                    case HOME_AWAY_SWAPPED -> {
+                        open[base + change.away()] = -1;
+                        open[base + change.home()] = change.away();
+                    }
+                    case MOVED -> {
+                        // Same slot and teams, only played later
+                    }
+                }
+            }
+        }
+    }
+
+    // Table of a league, or null if it has no season
+    public StandingsTable table(int leagueId) {
+        Entry entry = entries.get(leagueId);
+        return entry != null ? entry.table() : null;
+    }
+
+    public Entry entry(int leagueId) {
+        return entries.get(leagueId);
+    }
+
+    public int getLeagueCount() {
+        return entries.size();
+    }
+
+    private void leagueChanged(MasterDataEvent<League> event) {
+        League league = event.getEntity();
+        switch (event.getType()) {
+            case DELETED -> {
+                entries.remove(league.getId());
+                fixtures.remove(league.getId());
+            }
+            // Keep the table, pick up the new name or level
+            case UPDATED -> entries.computeIfPresent(league.getId(),
+                (id, entry) -> new Entry(league, entry.season(), entry.table()));
+            case INSERTED -> {
+                // A new league has no season yet
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        removeLeagueListener.run();
+    }
+}
\ No newline at end of file
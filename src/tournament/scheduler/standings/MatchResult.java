@@ -0,0 +1,16 @@
+package tournament.scheduler.standings;
+
+/**
+ * Final score of one scheduled match. Teams are season team indexes, as in
+ * {@link tournament.scheduler.engine.RoundRobinSchedule}; rounds count from 1.
+ */
+public record MatchResult(int round, int home, int away, int homeGoals, int awayGoals) {
+    public MatchResult {
+        if (homeGoals < 0 || awayGoals < 0) {
+            throw new IllegalArgumentException("Goals cannot be negative: " + homeGoals + "-" + awayGoals);
+        }
+        if (home == away) {
+            throw new IllegalArgumentException("Team " + home + " cannot play itself");
+        }
+    }
+}
\ No newline at end of file
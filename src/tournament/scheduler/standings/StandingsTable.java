@@ -0,0 +1,378 @@
+package tournament.scheduler.standings;
+
+import java.util.Arrays;
+
+/**
+ * League table that is updated in place as results come in. Every result
+ * touches a fixed set of primitive per-team counters and one cell of the
+ * head-to-head matrices, and only the two teams involved move in the ranking,
+ * so recording a result costs O(1) plus the distance they climb or fall.
+ *
+ * <p>Teams are ranked by points, goal difference and goals scored. Teams level
+ * on all three are separated by a mini-league of their matches against each
+ * other (points, goal difference, goals), then by team index. Results are
+ * keyed by round and home team, so recording a match again replaces the
+ * earlier score.
+ *
+ * <p>All methods are synchronized; a table can be fed from one thread and
+ * read from another.
+ */
+public final class StandingsTable {
+    public static final int WIN_POINTS = 3;
+    public static final int DRAW_POINTS = 1;
+
+    private static final int GOAL_DIFFERENCE_BIAS = 1 << 20;
+    private static final int MAX_GOALS = 0xFFFF;
+
+    private final int teamCount;
+    private final int roundCount;
+    private final int winPoints;
+    private final int drawPoints;
+
+    private final int[] played;
+    private final int[] won;
+    private final int[] drawn;
+    private final int[] lost;
+    private final int[] goalsFor;
+    private final int[] goalsAgainst;
+    private final int[] points;
+    // Row a, column b: points and goals a took from its games against b
+    private final int[] headToHeadPoints;
+    private final int[] headToHeadGoals;
+
+    // Recorded result per (round, home team): away team or -1, and packed score
+    private final int[] resultAway;
+    private final int[] resultScore;
+    private int resultCount;
+
+    // Sort key per team and the ranking, best first, with its inverse
+    private final long[] keys;
+    private final int[] order;
+    private final int[] rank;
+
+    // Scratch for mini-leagues
+    private final int[] miniPoints;
+    private final int[] miniGoalDifference;
+    private final int[] miniGoals;
+    private final int[] block;
+
+    public StandingsTable(int teamCount, int roundCount) {
+        this(teamCount, roundCount, WIN_POINTS, DRAW_POINTS);
+    }
+
+    public StandingsTable(int teamCount, int roundCount, int winPoints, int drawPoints) {
+        if (teamCount < 2) {
+            throw new IllegalArgumentException("At least 2 teams are required, got " + teamCount);
+        }
+        if (roundCount < 1) {
+            throw new IllegalArgumentException("Round count must be positive, got " + roundCount);
+        }
+        this.teamCount = teamCount;
+        this.roundCount = roundCount;
+        this.winPoints = winPoints;
+        this.drawPoints = drawPoints;
+        this.played = new int[teamCount];
+        this.won = new int[teamCount];
+        this.drawn = new int[teamCount];
+        this.lost = new int[teamCount];
+        this.goalsFor = new int[teamCount];
+        this.goalsAgainst = new int[teamCount];
+        this.points = new int[teamCount];
+        this.headToHeadPoints = new int[teamCount * teamCount];
+        this.headToHeadGoals = new int[teamCount * teamCount];
+        this.resultAway = new int[roundCount * teamCount];
+        this.resultScore = new int[roundCount * teamCount];
+        Arrays.fill(resultAway, -1);
+        this.keys = new long[teamCount];
+        this.order = new int[teamCount];
+        this.rank = new int[teamCount];
+        for (int t = 0; t < teamCount; t++) {
+            keys[t] = key(t);
+            order[t] = t;
+            rank[t] = t;
+        }
+        this.miniPoints = new int[teamCount];
+        this.miniGoalDifference = new int[teamCount];
+        this.miniGoals = new int[teamCount];
+        this.block = new int[teamCount];
+    }
+
+    public synchronized void record(MatchResult result) {
+        record(result.round(), result.home(), result.away(), result.homeGoals(), result.awayGoals());
+    }
+
+    public synchronized void record(int round, int home, int away, int homeGoals, int awayGoals) {
+        checkTeam(home);
+        checkTeam(away);
+        if (home == away) {
+            throw new IllegalArgumentException("Team " + home + " cannot play itself");
+        }
+        if (homeGoals < 0 || awayGoals < 0 || homeGoals > MAX_GOALS || awayGoals > MAX_GOALS) {
+            throw new IllegalArgumentException("Invalid score " + homeGoals + "-" + awayGoals);
+        }
+        int slot = slot(round, home);
+        int previousAway = resultAway[slot];
+        if (previousAway >= 0) {
+            int score = resultScore[slot];
+            apply(home, previousAway, score >>> 16, score & MAX_GOALS, -1);
+            resultCount--;
+        }
+        apply(home, away, homeGoals, awayGoals, 1);
+        resultAway[slot] = away;
+        resultScore[slot] = homeGoals << 16 | awayGoals;
+        resultCount++;
+        // A corrected fixture also moves the team that was recorded before
+        rerank(home, away, previousAway >= 0 && previousAway != away ? previousAway : -1);
+    }
+
+    // Withdraws the result recorded for this round and home team, if any
+    public synchronized boolean remove(int round, int home) {
+        checkTeam(home);
+        int slot = slot(round, home);
+        int away = resultAway[slot];
+        if (away < 0) {
+            return false;
+        }
+        int score = resultScore[slot];
+        apply(home, away, score >>> 16, score & MAX_GOALS, -1);
+        resultAway[slot] = -1;
+        resultCount--;
+        rerank(home, away, -1);
+        return true;
+    }
+
+    private void apply(int home, int away, int homeGoals, int awayGoals, int sign) {
+        played[home] += sign;
+        played[away] += sign;
+        goalsFor[home] += sign * homeGoals;
+        goalsAgainst[home] += sign * awayGoals;
+        goalsFor[away] += sign * awayGoals;
+        goalsAgainst[away] += sign * homeGoals;
+        headToHeadGoals[home * teamCount + away] += sign * homeGoals;
+        headToHeadGoals[away * teamCount + home] += sign * awayGoals;
+
+        if (homeGoals > awayGoals) {
+            won[home] += sign;
+            lost[away] += sign;
+            points[home] += sign * winPoints;
+            headToHeadPoints[home * teamCount + away] += sign * winPoints;
+        } else if (homeGoals < awayGoals) {
+            won[away] += sign;
+            lost[home] += sign;
+            points[away] += sign * winPoints;
+            headToHeadPoints[away * teamCount + home] += sign * winPoints;
+        } else {
+            drawn[home] += sign;
+            drawn[away] += sign;
+            points[home] += sign * drawPoints;
+            points[away] += sign * drawPoints;
+            headToHeadPoints[home * teamCount + away] += sign * drawPoints;
+            headToHeadPoints[away * teamCount + home] += sign * drawPoints;
+        }
+    }
+
+    /**
+     * Moves the teams whose counters changed (third may be -1), one at a time
+     * so each insertion sees an otherwise sorted ranking, then re-resolves
+     * the tie blocks they left and joined.
+     */
+    private void rerank(int a, int b, int c) {
+        long oldA = keys[a];
+        long oldB = keys[b];
+        long oldC = c >= 0 ? keys[c] : -1;
+        move(a);
+        move(b);
+        if (c >= 0) {
+            move(c);
+            resolve(oldC);
+            resolve(keys[c]);
+        }
+        resolve(oldA);
+        resolve(oldB);
+        resolve(keys[a]);
+        resolve(keys[b]);
+    }
+
+    private void move(int team) {
+        keys[team] = key(team);
+        reposition(team);
+    }
+
+    // Points, goal difference and goals scored in one descending-comparable long
+    private long key(int team) {
+        return (long) points[team] << 42
+            | (long) (goalsFor[team] - goalsAgainst[team] + GOAL_DIFFERENCE_BIAS) << 21
+            | goalsFor[team];
+    }
+
+    // Moves a team whose key changed to the edge of its new block of equal keys
+    private void reposition(int team) {
+        long key = keys[team];
+        int r = rank[team];
+        while (r > 0 && keys[order[r - 1]] < key) {
+            order[r] = order[r - 1];
+            rank[order[r]] = r;
+            r--;
+        }
+        while (r < teamCount - 1 && keys[order[r + 1]] > key) {
+            order[r] = order[r + 1];
+            rank[order[r]] = r;
+            r++;
+        }
+        order[r] = team;
+        rank[team] = r;
+    }
+
+    /**
+     * Re-orders the teams sharing {@code key} by their mini-league. Blocks are
+     * usually a handful of teams; the cost is quadratic in the block size.
+     */
+    private void resolve(long key) {
+        int start = firstRankAtOrBelow(key);
+        int end = start;
+        while (end < teamCount && keys[order[end]] == key) {
+            end++;
+        }
+        int size = end - start;
+        if (size < 2) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            block[i] = order[start + i];
+        }
+        for (int i = 0; i < size; i++) {
+            int a = block[i];
+            int pts = 0;
+            int scored = 0;
+            int conceded = 0;
+            for (int j = 0; j < size; j++) {
+                int b = block[j];
+                if (a != b) {
+                    pts += headToHeadPoints[a * teamCount + b];
+                    scored += headToHeadGoals[a * teamCount + b];
+                    conceded += headToHeadGoals[b * teamCount + a];
+                }
+            }
+            miniPoints[a] = pts;
+            miniGoalDifference[a] = scored - conceded;
+            miniGoals[a] = scored;
+        }
+        for (int i = 1; i < size; i++) {
+            int team = block[i];
+            int j = i - 1;
+            while (j >= 0 && ranksBelow(block[j], team)) {
+                block[j + 1] = block[j];
+                j--;
+            }
+            block[j + 1] = team;
+        }
+        for (int i = 0; i < size; i++) {
+            order[start + i] = block[i];
+            rank[block[i]] = start + i;
+        }
+    }
+
+    private boolean ranksBelow(int a, int b) {
+        if (miniPoints[a] != miniPoints[b]) {
+            return miniPoints[a] < miniPoints[b];
+        }
+        if (miniGoalDifference[a] != miniGoalDifference[b]) {
+            return miniGoalDifference[a] < miniGoalDifference[b];
+        }
+        if (miniGoals[a] != miniGoals[b]) {
+            return miniGoals[a] < miniGoals[b];
+        }
+        return a > b;
+    }
+
+    // First rank whose key is not greater than the given one; keys descend by rank
+    private int firstRankAtOrBelow(long key) {
+        int low = 0;
+        int high = teamCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[order[mid]] > key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(int round, int home) {
+        if (round < 1 || round > roundCount) {
+            throw new IllegalArgumentException("Round " + round + " is outside 1.." + roundCount);
+        }
+        return (round - 1) * teamCount + home;
+    }
+
+    private void checkTeam(int team) {
+        if (team < 0 || team >= teamCount) {
+            throw new IllegalArgumentException("Team " + team + " is outside 0.." + (teamCount - 1));
+        }
+    }
+
+    public int getTeamCount() {
+        return teamCount;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public synchronized int getResultCount() {
+        return resultCount;
+    }
+
+    // Rank 0 is the top of the table
+    public synchronized int teamAt(int rank) {
+        return order[rank];
+    }
+
+    public synchronized int rankOf(int team) {
+        return rank[team];
+    }
+
+    // Team indexes from first place down
+    public synchronized int[] ranking() {
+        return order.clone();
+    }
+
+    public synchronized int getPlayed(int team) {
+        return played[team];
+    }
+
+    public synchronized int getWon(int team) {
+        return won[team];
+    }
+
+    public synchronized int getDrawn(int team) {
+        return drawn[team];
+    }
+
+    public synchronized int getLost(int team) {
+        return lost[team];
+    }
+
+    public synchronized int getGoalsFor(int team) {
+        return goalsFor[team];
+    }
+
+    public synchronized int getGoalsAgainst(int team) {
+        return goalsAgainst[team];
+    }
+
+    public synchronized int getGoalDifference(int team) {
+        return goalsFor[team] - goalsAgainst[team];
+    }
+
+    public synchronized int getPoints(int team) {
+        return points[team];
+    }
+
+    // Points team a took from its matches against team b
+    public synchronized int getHeadToHeadPoints(int a, int b) {
+        return headToHeadPoints[a * teamCount + b];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package tournament.scheduler.ui;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import tournament.scheduler.db.AsyncDataAccess;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reloads data in the background on request. At most one query runs at a
+ * time: requests arriving while it runs are coalesced into a single
+ * follow-up query, and the result of the superseded query is discarded
+ * instead of being shown. Must be used from the JavaFX application thread.
+ */
+public class CoalescingLoader<T> {
+    private final Supplier<T> query;
+    private final Consumer<? super T> onLoaded;
+    private final Consumer<Throwable> onError;
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    private CompletableFuture<T> inFlight;
+    private boolean stale;
+
+    public CoalescingLoader(Supplier<T> query, Consumer<? super T> onLoaded, Consumer<Throwable> onError) {
+        this.query = query;
+        this.onLoaded = onLoaded;
+        this.onError = onError;
+    }
+
+    public void request() {
+        if (inFlight != null) {
+            stale = true;
+            return;
+        }
+        start();
+    }
+
+    private void start() {
+        loading.set(true);
+        CompletableFuture<T> future = AsyncDataAccess.supply(query);
+        inFlight = future;
+        future.whenCompleteAsync((result, error) -> {
+            if (future != inFlight) {
+                return; // cancelled
+            }
+            inFlight = null;
+            if (stale) {
+                stale = false;
+                start();
+                return;
+            }
+            loading.set(false);
+            if (error == null) {
+                onLoaded.accept(result);
+            } else {
+                onError.accept(FxAsync.unwrap(error));
+            }
+        }, FxAsync.FX_THREAD);
+    }
+
+    // Drops the running query, e.g. when its window closes
+    public void cancel() {
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        stale = false;
+        loading.set(false);
+    }
+
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+}
@@ -0,0 +1,51 @@
+package tournament.scheduler.ui;
+
+import javafx.application.Platform;
+import tournament.scheduler.db.AsyncDataAccess;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs data access off the JavaFX application thread and hands the result
+ * back to it with {@link Platform#runLater}.
+ */
+public final class FxAsync {
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    private FxAsync() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> work, Consumer<? super T> onSuccess,
+                                                  Consumer<Throwable> onError) {
+        CompletableFuture<T> future = AsyncDataAccess.supply(work);
+        future.whenCompleteAsync((result, error) -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else if (!future.isCancelled()) {
+                onError.accept(unwrap(error));
+            }
+        }, FX_THREAD);
+        return future;
+    }
+
+    public static CompletableFuture<Void> run(Runnable work, Runnable onSuccess, Consumer<Throwable> onError) {
+        return supply(() -> {
+            work.run();
+            return null;
+        }, ignored -> onSuccess.run(), onError);
+    }
+
+    // Strips the wrappers CompletableFuture adds around the real failure
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}